@@ -1,20 +1,31 @@
 package com.printkon.pdp.catalog;
 
 import com.printkon.pdp.catalog.dto.*;
+import com.printkon.pdp.catalog.services.CatalogEpoch;
 import com.printkon.pdp.catalog.services.CategoryService;
+import com.printkon.pdp.common.cache.EncodedResponseCache;
+import com.printkon.pdp.common.cache.EncodedResponseCache.Group;
+import com.printkon.pdp.common.dto.CursorPage;
 import com.printkon.pdp.common.dto.PagedResponse;
 import com.printkon.pdp.common.dto.ResponseStructure;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
+import java.io.IOException;
 import java.util.List;
+import java.util.function.Supplier;
 
 @Slf4j
 @RestController
@@ -25,12 +36,20 @@ import java.util.List;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final CatalogEpoch catalogEpoch;
+    private final EncodedResponseCache responseCache;
 
     // ------------------ PUBLIC ENDPOINTS ------------------
     @GetMapping
-    public ResponseEntity<ResponseStructure<List<CategoryResponse>>> getAllCategories(
-            @RequestParam(required = false) Boolean includeInactive) {
-        return categoryService.getAllCategories(includeInactive);
+    public void getAllCategories(
+            @RequestParam(required = false) Boolean includeInactive,
+            WebRequest webRequest, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (webRequest.checkNotModified(catalogEpoch.categoryTag(), catalogEpoch.categoryLastModified())) {
+            return;
+        }
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        responseCache.write(Group.CATEGORIES, allCategoriesKey(includeInactive), request, response,
+                () -> categoryService.getAllCategories(includeInactive));
     }
 
     @GetMapping("/paginated")
@@ -39,37 +58,55 @@ public class CategoryController {
             @RequestParam(defaultValue = "20") Integer size,
             @RequestParam(defaultValue = "displayOrder") String sortBy,
             @RequestParam(defaultValue = "ASC") String sortDirection,
-            @RequestParam(required = false) Boolean includeInactive) {
-        return categoryService.getCategoriesPaginated(page, size, sortBy, sortDirection, includeInactive);
+            @RequestParam(required = false) Boolean includeInactive,
+            WebRequest webRequest) {
+        return conditional(webRequest,
+                () -> categoryService.getCategoriesPaginated(page, size, sortBy, sortDirection, includeInactive));
+    }
+
+    @GetMapping("/scroll")
+    public ResponseEntity<ResponseStructure<CursorPage<CategoryResponse>>> scrollCategories(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(defaultValue = "displayOrder") String sortBy,
+            @RequestParam(defaultValue = "ASC") String sortDirection,
+            @RequestParam(required = false) Boolean includeInactive,
+            WebRequest webRequest) {
+        return conditional(webRequest,
+                () -> categoryService.scrollCategories(cursor, size, sortBy, sortDirection, includeInactive));
     }
 
     @GetMapping("/{categoryId}")
     public ResponseEntity<ResponseStructure<CategoryResponse>> getCategoryById(
-            @PathVariable @NotBlank String categoryId) {
-        return categoryService.getCategoryById(categoryId);
+            @PathVariable @NotBlank String categoryId,
+            WebRequest webRequest) {
+        return conditional(webRequest, () -> categoryService.getCategoryById(categoryId));
     }
 
     @GetMapping("/slug/{slug}")
     public ResponseEntity<ResponseStructure<CategoryResponse>> getCategoryBySlug(
-            @PathVariable @NotBlank String slug) {
-        return categoryService.getCategoryBySlug(slug);
+            @PathVariable @NotBlank String slug,
+            WebRequest webRequest) {
+        return conditional(webRequest, () -> categoryService.getCategoryBySlug(slug));
     }
 
     @GetMapping("/root")
-    public ResponseEntity<ResponseStructure<List<CategoryResponse>>> getRootCategories() {
-        return categoryService.getRootCategories();
+    public ResponseEntity<ResponseStructure<List<CategoryResponse>>> getRootCategories(WebRequest webRequest) {
+        return conditional(webRequest, categoryService::getRootCategories);
     }
 
     @GetMapping("/{parentCategoryId}/subcategories")
     public ResponseEntity<ResponseStructure<List<CategoryResponse>>> getSubCategories(
-            @PathVariable @NotBlank String parentCategoryId) {
-        return categoryService.getSubCategories(parentCategoryId);
+            @PathVariable @NotBlank String parentCategoryId,
+            WebRequest webRequest) {
+        return conditional(webRequest, () -> categoryService.getSubCategories(parentCategoryId));
     }
 
     @GetMapping("/search")
     public ResponseEntity<ResponseStructure<List<CategoryResponse>>> searchCategories(
-            @RequestParam @NotBlank String query) {
-        return categoryService.searchCategories(query);
+            @RequestParam @NotBlank String query,
+            WebRequest webRequest) {
+        return conditional(webRequest, () -> categoryService.searchCategories(query));
     }
 
     // ------------------ ADMIN ENDPOINTS ------------------
@@ -147,4 +184,15 @@ public class CategoryController {
             @RequestParam("bannerImage") MultipartFile bannerImage) {
         return categoryService.updateCategoryBanner(categoryId, bannerImage);
     }
-}
\ No newline at end of file
+
+    // Encoded response cache key, shared with the startup warm-up
+    public static String allCategoriesKey(Boolean includeInactive) {
+        return "all:" + Boolean.TRUE.equals(includeInactive);
+    }
+
+    // Category responses embed product counts and subcategories, so the catalog-wide epoch decides
+    private <T> ResponseEntity<T> conditional(WebRequest webRequest, Supplier<ResponseEntity<T>> loader) {
+        return catalogEpoch.ifModified(webRequest, catalogEpoch.categoryTag(), catalogEpoch.categoryLastModified(),
+                loader);
+    }
+}
@@ -1,22 +1,41 @@
 package com.printkon.pdp.catalog;
 
 import com.printkon.pdp.catalog.dto.*;
+import com.printkon.pdp.catalog.services.CatalogBulkService;
+import com.printkon.pdp.catalog.services.CatalogEpoch;
+import com.printkon.pdp.catalog.services.ProductAnalyticsService;
 import com.printkon.pdp.catalog.services.ProductService;
+import com.printkon.pdp.common.cache.EncodedResponseCache;
+import com.printkon.pdp.common.cache.EncodedResponseCache.Group;
+import com.printkon.pdp.common.dto.CacheStatsResponse;
+import com.printkon.pdp.common.dto.CursorPage;
 import com.printkon.pdp.common.dto.PagedResponse;
 import com.printkon.pdp.common.dto.ResponseStructure;
+import com.printkon.pdp.common.enums.TrendingWindow;
+import com.printkon.pdp.user.UserDetailsImpl;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -29,20 +48,45 @@ import java.util.Map;
 public class ProductController {
 
 	private final ProductService productService;
+	private final CatalogBulkService catalogBulkService;
+	private final ProductAnalyticsService productAnalyticsService;
+	private final CatalogEpoch catalogEpoch;
+	private final EncodedResponseCache responseCache;
 
 	// ------------------ PUBLIC ENDPOINTS ------------------
 	@GetMapping
 	public ResponseEntity<ResponseStructure<PagedResponse<ProductResponse>>> getAllProducts(
 			@RequestParam(required = false) String categoryId, @RequestParam(defaultValue = "0") Integer page,
 			@RequestParam(defaultValue = "20") Integer size, @RequestParam(defaultValue = "createdAt") String sortBy,
-			@RequestParam(defaultValue = "DESC") String sortDirection) {
+			@RequestParam(defaultValue = "DESC") String sortDirection, WebRequest webRequest) {
 
-		return productService.getAllProducts(categoryId, page, size, sortBy, sortDirection);
+		// Decided from the catalog epoch, before any rows are loaded
+		return catalogEpoch.ifModified(webRequest, catalogEpoch.productListTag(),
+				catalogEpoch.productListLastModified(),
+				() -> productService.getAllProducts(categoryId, page, size, sortBy, sortDirection));
+	}
+
+	@GetMapping("/scroll")
+	public ResponseEntity<ResponseStructure<CursorPage<ProductResponse>>> scrollProducts(
+			@RequestParam(required = false) String categoryId, @RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "20") Integer size, @RequestParam(defaultValue = "createdAt") String sortBy,
+			@RequestParam(defaultValue = "DESC") String sortDirection, WebRequest webRequest) {
+
+		return catalogEpoch.ifModified(webRequest, catalogEpoch.productListTag(),
+				catalogEpoch.productListLastModified(),
+				() -> productService.scrollProducts(categoryId, cursor, size, sortBy, sortDirection));
+	}
+
+	@GetMapping("/batch")
+	public ResponseEntity<ResponseStructure<ProductBatchResponse>> getProductsByIds(
+			@RequestParam @NotNull List<String> ids) {
+		return productService.getProductsByIds(ids);
 	}
 
 	@GetMapping("/{productId}")
-	public ResponseEntity<ResponseStructure<ProductResponse>> getProductById(@PathVariable @NotBlank String productId) {
-		return productService.getProductById(productId);
+	public ResponseEntity<ResponseStructure<ProductResponse>> getProductById(@PathVariable @NotBlank String productId,
+			@AuthenticationPrincipal UserDetailsImpl user, HttpServletRequest request) {
+		return productService.getProductById(productId, user, request);
 	}
 
 	@GetMapping("/search")
@@ -51,22 +95,46 @@ public class ProductController {
 		return productService.searchProducts(searchRequest);
 	}
 
+	@GetMapping("/search/faceted")
+	public ResponseEntity<ResponseStructure<FacetedSearchResponse>> searchProductsWithFacets(
+			@Valid ProductSearchRequest searchRequest) {
+		return productService.searchProductsWithFacets(searchRequest);
+	}
+
+	@GetMapping("/search/scroll")
+	public ResponseEntity<ResponseStructure<CursorPage<ProductResponse>>> scrollSearchProducts(
+			@Valid ProductSearchRequest searchRequest, @RequestParam(required = false) String cursor) {
+		return productService.scrollSearchProducts(searchRequest, cursor);
+	}
+
 	@GetMapping("/search/simple")
 	public ResponseEntity<ResponseStructure<List<ProductResponse>>> searchProductsSimple(
 			@RequestParam @NotBlank String query) {
 		return productService.searchProductsSimple(query);
 	}
 
-	@GetMapping("/popular")
-	public ResponseEntity<ResponseStructure<List<ProductResponse>>> getPopularProducts(
+	@GetMapping("/autocomplete")
+	public ResponseEntity<ResponseStructure<AutocompleteResponse>> autocomplete(@RequestParam @NotBlank String q,
 			@RequestParam(required = false) Integer limit) {
-		return productService.getPopularProducts(limit);
+		return productService.getAutocompleteSuggestions(q, limit);
+	}
+
+	@GetMapping("/popular")
+	public void getPopularProducts(@RequestParam(required = false) Integer limit, HttpServletRequest request,
+			HttpServletResponse response) throws IOException {
+		responseCache.write(Group.PRODUCT_LISTS, "popular:" + limit, request, response,
+				() -> productService.getPopularProducts(limit));
 	}
 
 	@GetMapping("/trending")
-	public ResponseEntity<ResponseStructure<List<ProductResponse>>> getTrendingProducts(
-			@RequestParam(required = false) Integer limit) {
-		return productService.getTrendingProducts(limit);
+	public void getTrendingProducts(@RequestParam(required = false) Integer limit,
+			@RequestParam(required = false) String window, HttpServletRequest request, HttpServletResponse response)
+			throws IOException {
+		// Lifetime ranking without a window; 1h, 24h or 7d rank by recent activity
+		TrendingWindow trendingWindow = window != null ? TrendingWindow.fromParam(window) : null;
+		String key = "trending:" + (trendingWindow != null ? trendingWindow.param() : "all") + ":" + limit;
+		responseCache.write(Group.PRODUCT_LISTS, key, request, response,
+				() -> productService.getTrendingProducts(limit, trendingWindow));
 	}
 
 	@GetMapping("/force-trending")
@@ -76,15 +144,17 @@ public class ProductController {
 
 	@GetMapping("/out-of-stock")
 	@PreAuthorize("hasRole('ADMIN')")
-	public ResponseEntity<ResponseStructure<List<ProductResponse>>> getOutOfStockProducts() {
-		return productService.getOutOfStockProducts();
+	public ResponseEntity<ResponseStructure<PagedResponse<ProductResponse>>> getOutOfStockProducts(
+			@RequestParam(defaultValue = "0") Integer page, @RequestParam(defaultValue = "50") Integer size) {
+		return productService.getOutOfStockProducts(page, size);
 	}
 
 	@GetMapping("/low-stock")
 	@PreAuthorize("hasRole('ADMIN')")
-	public ResponseEntity<ResponseStructure<List<ProductStockResponse>>> getLowStockProducts(
-			@RequestParam(required = false) Integer threshold) {
-		return productService.getLowStockProducts(threshold);
+	public ResponseEntity<ResponseStructure<PagedResponse<ProductStockResponse>>> getLowStockProducts(
+			@RequestParam(required = false) Integer threshold, @RequestParam(defaultValue = "0") Integer page,
+			@RequestParam(defaultValue = "50") Integer size) {
+		return productService.getLowStockProducts(threshold, page, size);
 	}
 
 	// ------------------ ADMIN ENDPOINTS ------------------
@@ -136,6 +206,13 @@ public class ProductController {
 		return productService.reduceStock(productId, quantity);
 	}
 
+	@PostMapping("/stock/reduce")
+	@PreAuthorize("hasRole('ADMIN')")
+	public ResponseEntity<ResponseStructure<BulkOperationResult>> reduceStockBatch(
+			@RequestBody Map<String, Integer> quantities) {
+		return productService.reduceStockBatch(quantities);
+	}
+
 	@PostMapping("/{productId}/stock/add")
 	@PreAuthorize("hasRole('ADMIN')")
 	public ResponseEntity<ResponseStructure<ProductResponse>> addStock(@PathVariable @NotBlank String productId,
@@ -209,6 +286,20 @@ public class ProductController {
 		return productService.deleteProductsBulk(productIds);
 	}
 
+	// Body is streamed: text/csv with a header row, or application/x-ndjson
+	@PostMapping(value = "/bulk/import", consumes = { "text/csv", "application/x-ndjson" })
+	@PreAuthorize("hasRole('ADMIN')")
+	public ResponseEntity<ResponseStructure<CatalogImportResult>> importProducts(
+			@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) throws IOException {
+		return catalogBulkService.importProducts(body, CatalogBulkService.Format.fromContentType(contentType));
+	}
+
+	@GetMapping("/bulk/export")
+	@PreAuthorize("hasRole('ADMIN')")
+	public ResponseEntity<StreamingResponseBody> exportProducts(@RequestParam(defaultValue = "csv") String format) {
+		return catalogBulkService.exportProducts(format);
+	}
+
 	// ------------------ ANALYTICS ------------------
 	@GetMapping("/{productId}/analytics")
 	@PreAuthorize("hasRole('ADMIN')")
@@ -217,9 +308,33 @@ public class ProductController {
 		return productService.getProductAnalytics(productId);
 	}
 
+	// Ranges default to the last 30 days
+	@GetMapping("/{productId}/analytics/daily")
+	@PreAuthorize("hasRole('ADMIN')")
+	public ResponseEntity<ResponseStructure<DailyAnalyticsResponse>> getProductDailyAnalytics(
+			@PathVariable @NotBlank String productId,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+		return productAnalyticsService.getProductDailyAnalytics(productId, from, to);
+	}
+
+	@GetMapping("/analytics/daily")
+	@PreAuthorize("hasRole('ADMIN')")
+	public ResponseEntity<ResponseStructure<DailyAnalyticsResponse>> getCatalogDailyAnalytics(
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+		return productAnalyticsService.getCatalogDailyAnalytics(from, to);
+	}
+
 	@GetMapping("/summary")
 	@PreAuthorize("hasRole('ADMIN')")
 	public ResponseEntity<ResponseStructure<List<ProductSummaryResponse>>> getProductsSummary() {
 		return productService.getProductsSummary();
 	}
+
+	@GetMapping("/admin/cache/stats")
+	@PreAuthorize("hasRole('ADMIN')")
+	public ResponseEntity<ResponseStructure<CacheStatsResponse>> getCacheStats() {
+		return productService.getCacheStats();
+	}
 }
\ No newline at end of file
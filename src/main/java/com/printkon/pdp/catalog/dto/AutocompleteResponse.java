@@ -0,0 +1,18 @@
+package com.printkon.pdp.catalog.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AutocompleteResponse {
+	private String query;
+	private List<AutocompleteSuggestion> products;
+	private List<AutocompleteSuggestion> categories;
+}
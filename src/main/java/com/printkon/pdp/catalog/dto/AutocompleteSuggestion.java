@@ -0,0 +1,16 @@
+package com.printkon.pdp.catalog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AutocompleteSuggestion {
+	private String id;
+	private String label;
+	private String slug;
+}
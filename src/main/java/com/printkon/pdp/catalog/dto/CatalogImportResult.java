@@ -0,0 +1,24 @@
+package com.printkon.pdp.catalog.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CatalogImportResult {
+	private long totalRows;
+	private long updatedRows;
+	private long failedRows;
+	private int chunksCommitted;
+	// Capped at app.catalog.bulk.max-reported-errors
+	private List<ImportRowError> errors;
+	private boolean errorsTruncated;
+	private LocalDateTime processedAt;
+}
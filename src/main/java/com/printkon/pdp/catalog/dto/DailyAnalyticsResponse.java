@@ -0,0 +1,26 @@
+package com.printkon.pdp.catalog.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyAnalyticsResponse {
+    private String productId; // null for catalog-wide totals
+    private LocalDate from;
+    private LocalDate to;
+    private Long totalViews;
+    private Long totalWishlistAdds;
+    private Long totalSalesQuantity;
+    private BigDecimal totalRevenue;
+    private Double conversionRate; // units sold per view within the range
+    private List<DailyStatsPoint> days; // one entry per day, zero-filled
+}
@@ -0,0 +1,21 @@
+package com.printkon.pdp.catalog.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyStatsPoint {
+    private LocalDate date;
+    private Long views;
+    private Long wishlistAdds;
+    private Long salesQuantity;
+    private BigDecimal revenue;
+}
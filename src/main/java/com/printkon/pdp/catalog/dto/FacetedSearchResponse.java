@@ -0,0 +1,17 @@
+package com.printkon.pdp.catalog.dto;
+
+import com.printkon.pdp.common.dto.PagedResponse;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FacetedSearchResponse {
+	private PagedResponse<ProductResponse> results;
+	private SearchFacets facets;
+}
@@ -0,0 +1,16 @@
+package com.printkon.pdp.catalog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportRowError {
+	private long line;
+	private String productId;
+	private String message;
+}
@@ -0,0 +1,18 @@
+package com.printkon.pdp.catalog.dto;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PriceRangeFacet {
+	private BigDecimal min;
+	private BigDecimal max; // null for the open-ended top bucket
+	private Long count;
+}
@@ -17,6 +17,7 @@ public class ProductAnalyticsResponse {
     private String productName;
     private Long totalSales;
     private Long totalViews;
+    private Long uniqueViewers;
     private Long totalWishlists;
     private BigDecimal averageRating;
     private Long reviewCount;
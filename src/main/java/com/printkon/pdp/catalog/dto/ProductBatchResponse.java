@@ -0,0 +1,17 @@
+package com.printkon.pdp.catalog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductBatchResponse {
+	private List<ProductResponse> products;
+	private List<String> missingIds;
+}
@@ -0,0 +1,7 @@
+package com.printkon.pdp.catalog.dto;
+
+/**
+ * Catalog-wide product counters, filled by a single aggregate query.
+ */
+public record ProductCounts(Long total, Long available, Long outOfStock, Long popular) {
+}
@@ -0,0 +1,19 @@
+package com.printkon.pdp.catalog.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchFacets {
+	private Long totalCount;
+	private Long inStockCount;
+	private List<FacetCount> categories;
+	private List<PriceRangeFacet> priceRanges;
+}
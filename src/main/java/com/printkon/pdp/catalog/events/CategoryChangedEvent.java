@@ -0,0 +1,12 @@
+package com.printkon.pdp.catalog.events;
+
+/**
+ * Published by {@code CategoryService} after a category is created, modified
+ * or removed.
+ */
+public record CategoryChangedEvent(ChangeType type, String categoryId) {
+
+	public enum ChangeType {
+		CREATED, UPDATED, DELETED
+	}
+}
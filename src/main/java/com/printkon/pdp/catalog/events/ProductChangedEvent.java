@@ -0,0 +1,24 @@
+package com.printkon.pdp.catalog.events;
+
+import java.util.List;
+
+/**
+ * Published by {@code ProductService} whenever products are created, modified
+ * or removed. Listeners that keep derived state (caches, indexes) should use
+ * {@code @TransactionalEventListener} so they only react to committed data.
+ *
+ * <p>
+ * {@code STOCK} means only stock quantities moved (checkouts, restocks);
+ * availability, category and listing fields are unchanged, so listeners that
+ * do not show stock can skip it.
+ */
+public record ProductChangedEvent(ChangeType type, List<String> productIds) {
+
+	public enum ChangeType {
+		CREATED, UPDATED, DELETED, STOCK
+	}
+
+	public static ProductChangedEvent of(ChangeType type, String productId) {
+		return new ProductChangedEvent(type, List.of(productId));
+	}
+}
@@ -86,6 +86,7 @@ public class Category {
     @Version
     private Long version;
 
+    // Id fallback only: CategoryService assigns ids from IdGenerator
     @PrePersist
     protected void generateCategoryId() {
         if (this.categoryId == null) {
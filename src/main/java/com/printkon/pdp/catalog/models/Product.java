@@ -16,7 +16,9 @@ import java.util.concurrent.ThreadLocalRandom;
 @Table(name = "products", indexes = { @Index(name = "idx_product_product_id", columnList = "productId", unique = true),
 		@Index(name = "idx_product_category_id", columnList = "category_id"),
 		@Index(name = "idx_product_available", columnList = "available"),
+		@Index(name = "idx_product_available_stock", columnList = "available, stock_quantity"),
 		@Index(name = "idx_product_created_at", columnList = "created_at"),
+		@Index(name = "idx_product_updated_at", columnList = "updated_at"),
 		@Index(name = "idx_product_popular_trending", columnList = "is_popular, is_force_trending, available"),
 		@Index(name = "idx_product_name", columnList = "name"),
 		@Index(name = "idx_product_price", columnList = "price") })
@@ -93,6 +95,7 @@ public class Product {
 	@Version
 	private Long version;
 
+	// Fallback only: ProductService assigns ids from IdGenerator
 	@PrePersist
 	protected void generateProductId() {
 		if (this.productId == null) {
@@ -0,0 +1,49 @@
+package com.printkon.pdp.catalog.models;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Per-product, per-day rollup of views, wishlist adds and sales, written by
+ * the stats flush and by sold orders. Date-range analytics read these rows
+ * through the (product_id, stat_date) key instead of scanning raw events.
+ */
+@Entity
+@Table(name = "product_daily_stats", uniqueConstraints = {
+		@UniqueConstraint(name = "uk_product_daily_stats_product_date", columnNames = { "product_id", "stat_date" }) },
+		indexes = { @Index(name = "idx_product_daily_stats_date", columnList = "stat_date") })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductDailyStats {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "product_id", nullable = false)
+	private Long productId;
+
+	@Column(name = "stat_date", nullable = false)
+	private LocalDate statDate;
+
+	@Column(nullable = false)
+	@Builder.Default
+	private Long views = 0L;
+
+	@Column(name = "wishlist_adds", nullable = false)
+	@Builder.Default
+	private Long wishlistAdds = 0L;
+
+	@Column(name = "sales_quantity", nullable = false)
+	@Builder.Default
+	private Long salesQuantity = 0L;
+
+	@Column(nullable = false, precision = 14, scale = 2)
+	@Builder.Default
+	private BigDecimal revenue = BigDecimal.ZERO;
+}
@@ -14,6 +14,7 @@ import java.time.LocalDateTime;
 		@Index(name = "idx_product_stats_views", columnList = "views_count"),
 		@Index(name = "idx_product_stats_wishlist", columnList = "wishlist_count"),
 		@Index(name = "idx_product_stats_last_updated", columnList = "last_updated"),
+		@Index(name = "idx_product_stats_popularity", columnList = "popularity_score"),
 		@Index(name = "idx_product_stats_composite", columnList = "sales_count, views_count, wishlist_count") })
 @Data
 @NoArgsConstructor
@@ -42,13 +43,31 @@ public class ProductStats {
 	@Builder.Default
 	private Long wishlistCount = 0L;
 
+	// Approved reviews only; count, rating sum and average move together on moderation
 	@Column(name = "review_count", nullable = false)
 	@Builder.Default
 	private Long reviewCount = 0L;
 
+	@Column(name = "rating_sum", nullable = false)
+	@Builder.Default
+	private Long ratingSum = 0L;
+
+	// Weighted by PopularityModel and kept current by every counter update
+	@Column(name = "popularity_score", nullable = false)
+	@Builder.Default
+	private Double popularityScore = 0.0;
+
 	@Column(name = "average_rating", precision = 3, scale = 2)
 	private BigDecimal averageRating;
 
+	// HyperLogLog of distinct viewers merged in on each counter flush; unique_viewers is its estimate
+	@Column(name = "unique_viewers_sketch", length = 1537)
+	private byte[] uniqueViewersSketch;
+
+	@Column(name = "unique_viewers", nullable = false)
+	@Builder.Default
+	private Long uniqueViewers = 0L;
+
 	@Column(name = "last_updated")
 	private LocalDateTime lastUpdated;
 
@@ -73,13 +92,4 @@ public class ProductStats {
 	public void incrementWishlist() {
 		this.wishlistCount++;
 	}
-
-	public void updateRating(BigDecimal newRating, Long newReviewCount) {
-		this.averageRating = newRating;
-		this.reviewCount = newReviewCount;
-	}
-
-	public Double getPopularityScore() {
-		return (salesCount * 0.5) + (viewsCount * 0.3) + (wishlistCount * 0.2);
-	}
 }
\ No newline at end of file
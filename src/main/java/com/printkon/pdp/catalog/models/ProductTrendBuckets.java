@@ -0,0 +1,37 @@
+package com.printkon.pdp.catalog.models;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Persisted rolling activity buckets of one product as recorded by one node,
+ * so windowed trending survives restarts and nodes can add up each other's
+ * activity. {@code buckets} is the compact binary form written by the
+ * in-memory ring buffers.
+ */
+@Entity
+@Table(name = "product_trend_buckets", indexes = {
+		@Index(name = "idx_trend_buckets_updated_at", columnList = "updated_at") })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@IdClass(ProductTrendBucketsId.class)
+public class ProductTrendBuckets {
+
+	@Id
+	@Column(name = "product_id")
+	private Long productId;
+
+	@Id
+	@Column(name = "node_id")
+	private Integer nodeId;
+
+	@Column(nullable = false, length = 512)
+	private byte[] buckets;
+
+	@Column(name = "updated_at", nullable = false)
+	private LocalDateTime updatedAt;
+}
@@ -0,0 +1,13 @@
+package com.printkon.pdp.catalog.models;
+
+import java.io.Serializable;
+import lombok.EqualsAndHashCode;
+import lombok.Data;
+
+@Data
+@EqualsAndHashCode
+public class ProductTrendBucketsId implements Serializable {
+	private static final long serialVersionUID = 1L;
+	private Long productId;
+	private Integer nodeId;
+}
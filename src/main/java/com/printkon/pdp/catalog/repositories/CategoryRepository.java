@@ -1,10 +1,15 @@
 package com.printkon.pdp.catalog.repositories;
 
 import com.printkon.pdp.catalog.models.Category;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -41,6 +46,16 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
 
 	List<Category> findByParentCategoryCategoryIdAndActiveTrue(String parentCategoryId);
 
+	// Tree rows: id, categoryId, name, slug, description, thumbnailUrl, bannerUrl, active, displayOrder,
+	// parent id, createdAt
+	@Query("SELECT c.id, c.categoryId, c.name, c.slug, c.description, c.thumbnailUrl, c.bannerUrl, c.active, "
+			+ "c.displayOrder, parent.id, c.createdAt FROM Category c LEFT JOIN c.parentCategory parent")
+	List<Object[]> findTreeRows();
+
+	// Single row: category count, latest update
+	@Query("SELECT COUNT(c), MAX(c.updatedAt) FROM Category c")
+	List<Object[]> fingerprint();
+
 	// Active categories with products
 	@Query("SELECT c FROM Category c WHERE c.active = true AND c.id IN "
 			+ "(SELECT DISTINCT p.category.id FROM Product p WHERE p.available = true)")
@@ -49,6 +64,17 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
 	@Query("SELECT c FROM Category c LEFT JOIN FETCH c.products p WHERE c.active = true AND p.available = true")
 	List<Category> findActiveCategoriesWithProducts();
 
+	// Autocomplete rows: categoryId, name, slug, available product count
+	@Query("SELECT c.categoryId, c.name, c.slug, COUNT(p) FROM Category c "
+			+ "LEFT JOIN Product p ON p.category = c AND p.available = true WHERE c.active = true "
+			+ "GROUP BY c.categoryId, c.name, c.slug")
+	List<Object[]> findAutocompleteEntries();
+
+	@Query("SELECT c.categoryId, c.name, c.slug, COUNT(p) FROM Category c "
+			+ "LEFT JOIN Product p ON p.category = c AND p.available = true WHERE c.active = true "
+			+ "AND c.categoryId = :categoryId GROUP BY c.categoryId, c.name, c.slug")
+	List<Object[]> findAutocompleteEntriesByCategoryId(@Param("categoryId") String categoryId);
+
 	// Count queries
 	@Query("SELECT COUNT(c) FROM Category c WHERE c.active = true")
 	long countActiveCategories();
@@ -69,6 +95,11 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
 	// This is already provided by JpaRepository: Page<Category> findAll(Pageable
 	// pageable);
 
+	// Keyset scrolling for infinite-scroll clients (no OFFSET, no COUNT)
+	Window<Category> findByActiveTrue(ScrollPosition position, Sort sort, Limit limit);
+
+	Window<Category> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
 	// Duplicate check methods for update operations
 	boolean existsByNameAndIdNot(String name, Long id);
 
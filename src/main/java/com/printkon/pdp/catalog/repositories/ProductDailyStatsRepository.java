@@ -0,0 +1,22 @@
+package com.printkon.pdp.catalog.repositories;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.printkon.pdp.catalog.models.ProductDailyStats;
+
+public interface ProductDailyStatsRepository extends JpaRepository<ProductDailyStats, Long> {
+
+	// Range scan of uk_product_daily_stats_product_date
+	List<ProductDailyStats> findByProductIdAndStatDateBetweenOrderByStatDate(Long productId, LocalDate from,
+			LocalDate to);
+
+	// Catalog-wide daily totals: statDate, views, wishlistAdds, salesQuantity, revenue
+	@Query("SELECT d.statDate, SUM(d.views), SUM(d.wishlistAdds), SUM(d.salesQuantity), SUM(d.revenue) "
+			+ "FROM ProductDailyStats d WHERE d.statDate BETWEEN :from AND :to GROUP BY d.statDate ORDER BY d.statDate")
+	List<Object[]> sumByDateBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -0,0 +1,19 @@
+package com.printkon.pdp.catalog.repositories;
+
+import com.printkon.pdp.catalog.models.Product;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface ProductFacetRepository {
+
+	/**
+	 * Aggregates all products matching {@code spec} in one grouped query. Rows are
+	 * categoryId, categoryName, price bucket index, product count and in-stock
+	 * count; bucket {@code i} holds prices below {@code priceBucketBounds[i]} and
+	 * the last bucket everything above the highest bound.
+	 */
+	List<Object[]> findSearchFacetRows(Specification<Product> spec, List<BigDecimal> priceBucketBounds);
+}
@@ -0,0 +1,55 @@
+package com.printkon.pdp.catalog.repositories;
+
+import com.printkon.pdp.catalog.models.Category;
+import com.printkon.pdp.catalog.models.Product;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class ProductFacetRepositoryImpl implements ProductFacetRepository {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public List<Object[]> findSearchFacetRows(Specification<Product> spec, List<BigDecimal> priceBucketBounds) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+		Root<Product> root = query.from(Product.class);
+		Join<Product, Category> category = root.join("category");
+
+		// Literals rather than bind parameters so the CASE in SELECT and GROUP BY is identical SQL
+		Expression<Integer> bucket = cb.literal(0);
+		if (!priceBucketBounds.isEmpty()) {
+			Path<BigDecimal> price = root.get("price");
+			CriteriaBuilder.Case<Integer> bucketCase = cb.selectCase();
+			for (int i = 0; i < priceBucketBounds.size(); i++) {
+				bucketCase = bucketCase.when(cb.lessThan(price, cb.literal(priceBucketBounds.get(i))), cb.literal(i));
+			}
+			bucket = bucketCase.otherwise(cb.literal(priceBucketBounds.size()));
+		}
+		Expression<Integer> inStock = cb.<Integer>selectCase()
+				.when(cb.greaterThan(root.get("stockQuantity"), cb.literal(0)), cb.literal(1))
+				.otherwise(cb.literal(0));
+
+		query.multiselect(category.get("categoryId"), category.get("name"), bucket, cb.count(root), cb.sum(inStock));
+		Predicate predicate = spec.toPredicate(root, query, cb);
+		if (predicate != null) {
+			query.where(predicate);
+		}
+		query.groupBy(category.get("categoryId"), category.get("name"), bucket);
+
+		return entityManager.createQuery(query).getResultList();
+	}
+}
@@ -1,20 +1,35 @@
 package com.printkon.pdp.catalog.repositories;
 
+import com.printkon.pdp.catalog.dto.ProductCounts;
 import com.printkon.pdp.catalog.models.Product;
+import com.printkon.pdp.catalog.search.SearchDocument;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
+public interface ProductRepository
+		extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>, ProductFacetRepository {
 
 	// User-facing ID queries
 	Optional<Product> findByProductId(String productId);
@@ -30,14 +45,39 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
 	@Query("SELECT p FROM Product p WHERE p.category.categoryId = :categoryId AND p.available = true")
 	List<Product> findByCategoryIdAndAvailableTrue(@Param("categoryId") String categoryId);
 
-	@Query("SELECT p FROM Product p WHERE p.category.categoryId = :categoryId AND p.available = true")
+	// Listing reads: category fetched in the same select, entities loaded read-only
+	@QueryHints(value = @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"), forCounting = false)
+	@Query(value = "SELECT p FROM Product p JOIN FETCH p.category c "
+			+ "WHERE c.categoryId = :categoryId AND p.available = true", countQuery = "SELECT COUNT(p) FROM Product p WHERE p.category.categoryId = :categoryId AND p.available = true")
 	Page<Product> findByCategoryIdAndAvailableTrue(@Param("categoryId") String categoryId, Pageable pageable);
 
 	// Search and filter queries
 	List<Product> findByAvailableTrue();
 
+	@EntityGraph(attributePaths = "category")
+	@QueryHints(value = @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"), forCounting = false)
 	Page<Product> findByAvailableTrue(Pageable pageable);
 
+	@Override
+	@EntityGraph(attributePaths = "category")
+	@QueryHints(value = @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"), forCounting = false)
+	Page<Product> findAll(Specification<Product> spec, Pageable pageable);
+
+	@Override
+	@EntityGraph(attributePaths = "category")
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+	List<Product> findAll(Specification<Product> spec);
+
+	// Keyset scrolling (no OFFSET, no COUNT)
+	@EntityGraph(attributePaths = "category")
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+	Window<Product> findByAvailableTrue(ScrollPosition position, Sort sort, Limit limit);
+
+	@EntityGraph(attributePaths = "category")
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+	Window<Product> findByCategoryCategoryIdAndAvailableTrue(String categoryId, ScrollPosition position, Sort sort,
+			Limit limit);
+
 	@Query("SELECT p FROM Product p WHERE p.available = true AND "
 			+ "(LOWER(p.name) LIKE LOWER(CONCAT('%', :query, '%')) OR "
 			+ "LOWER(p.description) LIKE LOWER(CONCAT('%', :query, '%')))")
@@ -54,6 +94,29 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
 	@Query("SELECT p FROM Product p WHERE p.available = true AND p.stockQuantity > 0")
 	List<Product> findInStockProducts();
 
+	// Inventory reports (served by idx_product_available_stock)
+	@Query(value = "SELECT p FROM Product p WHERE p.available = true AND p.stockQuantity <= :threshold",
+			countQuery = "SELECT COUNT(p) FROM Product p WHERE p.available = true AND p.stockQuantity <= :threshold")
+	Page<Product> findAvailableWithStockAtMost(@Param("threshold") int threshold, Pageable pageable);
+
+	// Stock level rows: productId, name, stockQuantity, available, version
+	@Query("SELECT p.productId, p.name, p.stockQuantity, p.available, p.version FROM Product p "
+			+ "WHERE p.available = true")
+	List<Object[]> findAvailableStockLevels();
+
+	@Query("SELECT p.productId, p.name, p.stockQuantity, p.available, p.version FROM Product p "
+			+ "WHERE p.productId IN :productIds")
+	List<Object[]> findStockLevelsByProductIds(@Param("productIds") Collection<String> productIds);
+
+	// Trending rows: id, productId, available, isForceTrending, salesCount, viewsCount, wishlistCount
+	@Query("SELECT p.id, p.productId, p.available, p.isForceTrending, s.salesCount, s.viewsCount, s.wishlistCount "
+			+ "FROM Product p LEFT JOIN ProductStats s ON s.productId = p.id WHERE p.available = true")
+	List<Object[]> findAvailableTrendingRows();
+
+	@Query("SELECT p.id, p.productId, p.available, p.isForceTrending, s.salesCount, s.viewsCount, s.wishlistCount "
+			+ "FROM Product p LEFT JOIN ProductStats s ON s.productId = p.id WHERE p.productId IN :productIds")
+	List<Object[]> findTrendingRowsByProductIds(@Param("productIds") Collection<String> productIds);
+
 	// Popular and trending products
 	List<Product> findByIsPopularTrueAndAvailableTrue();
 
@@ -66,10 +129,74 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
 	@Query("SELECT COUNT(p) FROM Product p WHERE p.available = true")
 	long countAvailableProducts();
 
+	// Rows: categoryId, available product count, latest update among them
+	@Query("SELECT p.category.categoryId, COUNT(p), MAX(p.updatedAt) FROM Product p WHERE p.available = true "
+			+ "GROUP BY p.category.categoryId")
+	List<Object[]> countAvailableByCategory();
+
+	// Single row: product count, latest update
+	@Query("SELECT COUNT(p), MAX(p.updatedAt) FROM Product p")
+	List<Object[]> catalogFingerprint();
+
+	@Query("SELECT new com.printkon.pdp.catalog.dto.ProductCounts(COUNT(p), "
+			+ "COALESCE(SUM(CASE WHEN p.available = true THEN 1 ELSE 0 END), 0), "
+			+ "COALESCE(SUM(CASE WHEN p.available = true AND p.stockQuantity <= 0 THEN 1 ELSE 0 END), 0), "
+			+ "COALESCE(SUM(CASE WHEN p.available = true AND p.isPopular = true THEN 1 ELSE 0 END), 0)) "
+			+ "FROM Product p")
+	ProductCounts countProductSummary();
+
+	// Atomic conditional decrement: 0 rows means unknown product or not enough stock. Stock movements bump
+	// updatedAt as well, which the list validators follow
+	@Modifying(flushAutomatically = true)
+	@Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity - :quantity, p.version = p.version + 1, "
+			+ "p.updatedAt = CURRENT_TIMESTAMP WHERE p.productId = :productId AND p.stockQuantity >= :quantity")
+	int decrementStockIfAvailable(@Param("productId") String productId, @Param("quantity") int quantity);
+
+	@Modifying(flushAutomatically = true)
+	@Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity + :quantity, p.version = p.version + 1, "
+			+ "p.updatedAt = CURRENT_TIMESTAMP WHERE p.productId = :productId")
+	int incrementStock(@Param("productId") String productId, @Param("quantity") int quantity);
+
 	// Bulk operations
 	@Query("UPDATE Product p SET p.available = :available WHERE p.category.categoryId = :categoryId")
 	int updateAvailabilityByCategoryId(@Param("categoryId") String categoryId, @Param("available") Boolean available);
 
 	// Add to ProductRepository
 	List<Product> findAllByProductIdIn(List<String> productIds);
+
+	// Multi-get with category and images fetched in the same statement
+	@Query("SELECT DISTINCT p FROM Product p JOIN FETCH p.category LEFT JOIN FETCH p.imageUrls "
+			+ "WHERE p.productId IN :productIds AND p.available = true")
+	List<Product> findAvailableWithDetailsByProductIdIn(@Param("productIds") Collection<String> productIds);
+
+	// Page-level hydration (one IN-query per association instead of one per row)
+	@Query("SELECT p.id, c FROM Product p JOIN p.category c WHERE p.id IN :productIds")
+	List<Object[]> findCategoriesByProductIds(@Param("productIds") Collection<Long> productIds);
+
+	@Query("SELECT p.id, i FROM Product p JOIN p.imageUrls i WHERE p.id IN :productIds")
+	List<Object[]> findImageUrlsByProductIds(@Param("productIds") Collection<Long> productIds);
+
+	// Search index loading (constructor projections, no entities)
+	@Query("SELECT new com.printkon.pdp.catalog.search.SearchDocument(p.id, p.productId, p.version, p.name, "
+			+ "p.description, p.sku, c.name) FROM Product p JOIN p.category c WHERE p.id > :afterId ORDER BY p.id")
+	List<SearchDocument> findSearchDocumentsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+	@Query("SELECT new com.printkon.pdp.catalog.search.SearchDocument(p.id, p.productId, p.version, p.name, "
+			+ "p.description, p.sku, c.name) FROM Product p JOIN p.category c WHERE p.productId IN :productIds")
+	List<SearchDocument> findSearchDocumentsByProductIds(@Param("productIds") Collection<String> productIds);
+
+	@Query("SELECT new com.printkon.pdp.catalog.search.SearchDocument(p.id, p.productId, p.version, p.name, "
+			+ "p.description, p.sku, c.name) FROM Product p JOIN p.category c WHERE c.categoryId = :categoryId")
+	List<SearchDocument> findSearchDocumentsByCategoryId(@Param("categoryId") String categoryId);
+
+	// Autocomplete rows: productId, name, available, popularity score
+	@Query("SELECT p.productId, p.name, p.available, "
+			+ "COALESCE(s.popularityScore, 0) "
+			+ "FROM Product p LEFT JOIN ProductStats s ON s.productId = p.id WHERE p.available = true")
+	List<Object[]> findAutocompleteEntries();
+
+	@Query("SELECT p.productId, p.name, p.available, "
+			+ "COALESCE(s.popularityScore, 0) "
+			+ "FROM Product p LEFT JOIN ProductStats s ON s.productId = p.id WHERE p.productId IN :productIds")
+	List<Object[]> findAutocompleteEntriesByProductIds(@Param("productIds") Collection<String> productIds);
 }
\ No newline at end of file
@@ -1,12 +1,16 @@
 package com.printkon.pdp.catalog.repositories;
 
 import com.printkon.pdp.catalog.models.ProductStats;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,29 +18,56 @@ public interface ProductStatsRepository extends JpaRepository<ProductStats, Long
 
 	Optional<ProductStats> findByProductId(Long productId);
 
-	// DB-side atomic increments
+	List<ProductStats> findByProductIdIn(Collection<Long> productIds);
+
+	// DB-side atomic increments (views and wishlist adds are batched by ProductStatsCounters).
+	// Score first: MySQL evaluates SET left to right, so later columns would already be incremented
 	@Modifying
 	@Transactional
-	@Query("UPDATE ProductStats s SET s.viewsCount = s.viewsCount + 1, s.lastUpdated = CURRENT_TIMESTAMP WHERE s.productId = :productId")
-	int incrementViews(@Param("productId") Long productId);
+	@Query("UPDATE ProductStats s SET s.popularityScore = (s.salesCount + :quantity) * :salesWeight "
+			+ "+ s.viewsCount * :viewsWeight + s.wishlistCount * :wishlistWeight, "
+			+ "s.salesCount = s.salesCount + :quantity, s.lastUpdated = CURRENT_TIMESTAMP "
+			+ "WHERE s.productId = :productId")
+	int incrementSales(@Param("productId") Long productId, @Param("quantity") Long quantity,
+			@Param("salesWeight") double salesWeight, @Param("viewsWeight") double viewsWeight,
+			@Param("wishlistWeight") double wishlistWeight);
 
+	// Rescores only rows whose stored score was computed with other weights
 	@Modifying
 	@Transactional
-	@Query("UPDATE ProductStats s SET s.wishlistCount = s.wishlistCount + 1, s.lastUpdated = CURRENT_TIMESTAMP WHERE s.productId = :productId")
-	int incrementWishlist(@Param("productId") Long productId);
+	@Query("UPDATE ProductStats s SET s.popularityScore = s.salesCount * :salesWeight + s.viewsCount * :viewsWeight "
+			+ "+ s.wishlistCount * :wishlistWeight WHERE s.popularityScore <> s.salesCount * :salesWeight "
+			+ "+ s.viewsCount * :viewsWeight + s.wishlistCount * :wishlistWeight")
+	int recomputePopularityScores(@Param("salesWeight") double salesWeight, @Param("viewsWeight") double viewsWeight,
+			@Param("wishlistWeight") double wishlistWeight);
 
+	// Approved-review aggregate; the average is assigned first for the same reason as the score
 	@Modifying
-	@Transactional
-	@Query("UPDATE ProductStats s SET s.salesCount = s.salesCount + :quantity, s.lastUpdated = CURRENT_TIMESTAMP WHERE s.productId = :productId")
-	int incrementSales(@Param("productId") Long productId, @Param("quantity") Long quantity);
+	@Query("UPDATE ProductStats s SET s.averageRating = CASE WHEN s.reviewCount + :countDelta > 0 "
+			+ "THEN CAST(s.ratingSum + :sumDelta AS BigDecimal) / (s.reviewCount + :countDelta) ELSE NULL END, "
+			+ "s.ratingSum = s.ratingSum + :sumDelta, s.reviewCount = s.reviewCount + :countDelta, "
+			+ "s.lastUpdated = CURRENT_TIMESTAMP WHERE s.productId = :productId")
+	int applyRatingDelta(@Param("productId") Long productId, @Param("sumDelta") long sumDelta,
+			@Param("countDelta") long countDelta);
 
 	@Modifying
-	@Transactional
-	@Query("UPDATE ProductStats s SET s.reviewCount = s.reviewCount + 1, s.averageRating = :newRating, s.lastUpdated = CURRENT_TIMESTAMP WHERE s.productId = :productId")
-	int updateRating(@Param("productId") Long productId, @Param("newRating") Double newRating);
+	@Query("UPDATE ProductStats s SET s.averageRating = :average, s.ratingSum = :sum, s.reviewCount = :count, "
+			+ "s.lastUpdated = CURRENT_TIMESTAMP WHERE s.productId = :productId")
+	int setRatingAggregate(@Param("productId") Long productId, @Param("sum") long sum, @Param("count") long count,
+			@Param("average") BigDecimal average);
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT s FROM ProductStats s WHERE s.productId = :productId")
+	Optional<ProductStats> findByProductIdForUpdate(@Param("productId") Long productId);
+
+	// Rating aggregate rows: productId, ratingSum, reviewCount
+	@Query("SELECT s.productId, s.ratingSum, s.reviewCount FROM ProductStats s "
+			+ "WHERE s.reviewCount <> 0 OR s.ratingSum <> 0")
+	List<Object[]> findRatingAggregates();
 
 	// Trending products queries
-	@Query("SELECT s FROM ProductStats s WHERE s.product.available = true ORDER BY (s.salesCount * 0.5 + s.viewsCount * 0.3 + s.wishlistCount * 0.2) DESC")
+	// Walks idx_product_stats_popularity instead of sorting a computed expression
+	@Query("SELECT s FROM ProductStats s WHERE s.product.available = true ORDER BY s.popularityScore DESC")
 	List<ProductStats> findTopTrendingProducts(org.springframework.data.domain.Pageable pageable);
 
 	@Query("SELECT s FROM ProductStats s WHERE s.product.available = true AND s.product.isForceTrending = true")
@@ -0,0 +1,23 @@
+package com.printkon.pdp.catalog.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.printkon.pdp.catalog.models.ProductTrendBuckets;
+import com.printkon.pdp.catalog.models.ProductTrendBucketsId;
+
+public interface ProductTrendBucketsRepository extends JpaRepository<ProductTrendBuckets, ProductTrendBucketsId> {
+
+	List<ProductTrendBuckets> findByUpdatedAtAfter(LocalDateTime since);
+
+	@Modifying
+	@Transactional
+	@Query("DELETE FROM ProductTrendBuckets b WHERE b.updatedAt < :before")
+	int deleteUpdatedBefore(@Param("before") LocalDateTime before);
+}
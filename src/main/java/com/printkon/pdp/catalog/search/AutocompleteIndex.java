@@ -0,0 +1,155 @@
+package com.printkon.pdp.catalog.search;
+
+import com.printkon.pdp.catalog.dto.AutocompleteResponse;
+import com.printkon.pdp.catalog.dto.AutocompleteSuggestion;
+import com.printkon.pdp.catalog.events.CategoryChangedEvent;
+import com.printkon.pdp.catalog.events.ProductChangedEvent;
+import com.printkon.pdp.catalog.repositories.CategoryRepository;
+import com.printkon.pdp.catalog.repositories.ProductRepository;
+import com.printkon.pdp.catalog.search.SuggestionTrie.Suggestion;
+import com.printkon.pdp.config.CatalogSearchProperties;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Typeahead suggestions for product names and category names/slugs. Products
+ * are ranked by popularity, categories by their number of available products.
+ * Built at startup and refreshed after each committed catalog change. A
+ * periodic full pass picks up changes made on other nodes and the weights,
+ * which move with stats flushes and product counts rather than with events.
+ */
+@Slf4j
+@Component
+public class AutocompleteIndex implements ApplicationRunner {
+
+	// Word positions per name that start a lookup key
+	private static final int MAX_WORD_KEYS = 6;
+
+	private final ProductRepository productRepository;
+	private final CategoryRepository categoryRepository;
+	private final CatalogSearchProperties searchProperties;
+	private final SuggestionTrie products;
+	private final SuggestionTrie categories;
+
+	public AutocompleteIndex(ProductRepository productRepository, CategoryRepository categoryRepository,
+			CatalogSearchProperties searchProperties) {
+		this.productRepository = productRepository;
+		this.categoryRepository = categoryRepository;
+		this.searchProperties = searchProperties;
+		this.products = new SuggestionTrie(searchProperties.getAutocompleteTopK());
+		this.categories = new SuggestionTrie(searchProperties.getAutocompleteTopK());
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		long start = System.currentTimeMillis();
+		productRepository.findAutocompleteEntries().forEach(this::putProduct);
+		categoryRepository.findAutocompleteEntries().forEach(this::putCategory);
+		log.info("Autocomplete index built with {} products and {} categories in {} ms", products.size(),
+				categories.size(), System.currentTimeMillis() - start);
+	}
+
+	@Scheduled(initialDelayString = "${app.catalog.search.index-resync:PT15M}",
+			fixedDelayString = "${app.catalog.search.index-resync:PT15M}")
+	public void resync() {
+		long start = System.currentTimeMillis();
+		// Only ids present before the pass can be stale; anything added meanwhile came from a committed event
+		Set<String> staleProducts = products.ids();
+		Set<String> staleCategories = categories.ids();
+		for (Object[] row : productRepository.findAutocompleteEntries()) {
+			putProduct(row);
+			staleProducts.remove((String) row[0]);
+		}
+		for (Object[] row : categoryRepository.findAutocompleteEntries()) {
+			putCategory(row);
+			staleCategories.remove((String) row[0]);
+		}
+		staleProducts.forEach(products::remove);
+		staleCategories.forEach(categories::remove);
+		log.info("Autocomplete index resynced with {} products and {} categories in {} ms", products.size(),
+				categories.size(), System.currentTimeMillis() - start);
+	}
+
+	public AutocompleteResponse suggest(String query, int limit) {
+		String prefix = String.join(" ", SearchTokenizer.tokenize(query));
+		int size = Math.max(1, Math.min(limit, searchProperties.getAutocompleteTopK()));
+
+		List<AutocompleteSuggestion> productSuggestions = prefix.isEmpty() ? List.of()
+				: toDtos(products.complete(prefix, size));
+		List<AutocompleteSuggestion> categorySuggestions = prefix.isEmpty() ? List.of()
+				: toDtos(categories.complete(prefix, size));
+
+		return AutocompleteResponse.builder().query(query).products(productSuggestions)
+				.categories(categorySuggestions).build();
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	@Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+	public void onProductChanged(ProductChangedEvent event) {
+		if (event.productIds().isEmpty()) {
+			return;
+		}
+		Set<String> found = new HashSet<>();
+		for (Object[] row : productRepository.findAutocompleteEntriesByProductIds(event.productIds())) {
+			putProduct(row);
+			found.add((String) row[0]);
+		}
+		event.productIds().stream().filter(id -> !found.contains(id)).forEach(products::remove);
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	@Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+	public void onCategoryChanged(CategoryChangedEvent event) {
+		List<Object[]> rows = categoryRepository.findAutocompleteEntriesByCategoryId(event.categoryId());
+		if (rows.isEmpty()) {
+			categories.remove(event.categoryId());
+		} else {
+			rows.forEach(this::putCategory);
+		}
+	}
+
+	// ------------------ PRIVATE HELPER METHODS ------------------
+
+	// row: productId, name, available, popularity
+	private void putProduct(Object[] row) {
+		String productId = (String) row[0];
+		if (!Boolean.TRUE.equals(row[2])) {
+			products.remove(productId);
+			return;
+		}
+		String name = (String) row[1];
+		products.put(new Suggestion(productId, name, null, toDouble(row[3])),
+				SuggestionTrie.keysFor(List.of(name), MAX_WORD_KEYS));
+	}
+
+	// row: categoryId, name, slug, available product count
+	private void putCategory(Object[] row) {
+		String name = (String) row[1];
+		String slug = (String) row[2];
+		List<String> texts = slug != null ? List.of(name, slug) : List.of(name);
+		categories.put(new Suggestion((String) row[0], name, slug, toDouble(row[3])),
+				SuggestionTrie.keysFor(texts, MAX_WORD_KEYS));
+	}
+
+	private static double toDouble(Object value) {
+		return value instanceof Number number ? number.doubleValue() : 0.0;
+	}
+
+	private static List<AutocompleteSuggestion> toDtos(List<Suggestion> suggestions) {
+		return suggestions.stream()
+				.map(s -> AutocompleteSuggestion.builder().id(s.id()).label(s.label()).slug(s.slug()).build())
+				.collect(Collectors.toList());
+	}
+}
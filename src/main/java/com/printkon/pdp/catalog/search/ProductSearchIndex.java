@@ -0,0 +1,207 @@
+package com.printkon.pdp.catalog.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over product name, description, SKU and category
+ * name. Terms are kept sorted so that every query token also matches indexed
+ * terms it is a prefix of ("pri" finds "printing"), which keeps the
+ * substring-like feel of the old LIKE search without scanning the table.
+ * <p>
+ * Scores are field-weighted and scaled by inverse document frequency; all query
+ * tokens must match for a product to be returned.
+ */
+@Component
+public class ProductSearchIndex {
+
+	private static final float SKU_WEIGHT = 4.0f;
+	private static final float NAME_WEIGHT = 3.0f;
+	private static final float CATEGORY_WEIGHT = 1.5f;
+	private static final float DESCRIPTION_WEIGHT = 1.0f;
+	private static final double PREFIX_MATCH_FACTOR = 0.5;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+	private final Map<Long, IndexedEntry> entries = new HashMap<>();
+	private final Map<String, Long> idsByProductId = new HashMap<>();
+
+	private volatile boolean ready;
+
+	private record IndexedEntry(String productId, Long version, Map<String, Float> terms) {
+	}
+
+	/**
+	 * True once the initial build has completed; until then callers should fall
+	 * back to the database search.
+	 */
+	public boolean isReady() {
+		return ready;
+	}
+
+	public void markReady() {
+		this.ready = true;
+	}
+
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return entries.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// Copy of the indexed product ids
+	public Set<String> productIds() {
+		lock.readLock().lock();
+		try {
+			return new HashSet<>(idsByProductId.keySet());
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Adds or replaces a product. A document older than the one already indexed
+	 * (lower entity version) is ignored, so a slow rebuild batch cannot undo a
+	 * more recent update.
+	 */
+	public void index(SearchDocument document) {
+		Map<String, Float> terms = extractTerms(document);
+
+		lock.writeLock().lock();
+		try {
+			IndexedEntry existing = entries.get(document.id());
+			if (existing != null && existing.version() != null && document.version() != null
+					&& existing.version() > document.version()) {
+				return;
+			}
+			if (existing != null) {
+				removePostings(document.id(), existing);
+			}
+			for (Map.Entry<String, Float> term : terms.entrySet()) {
+				postings.computeIfAbsent(term.getKey(), t -> new HashMap<>()).put(document.id(), term.getValue());
+			}
+			entries.put(document.id(), new IndexedEntry(document.productId(), document.version(), terms));
+			idsByProductId.put(document.productId(), document.id());
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void remove(String productId) {
+		lock.writeLock().lock();
+		try {
+			Long id = idsByProductId.remove(productId);
+			if (id != null) {
+				IndexedEntry existing = entries.remove(id);
+				if (existing != null) {
+					removePostings(id, existing);
+				}
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns matching internal product ids ordered by descending relevance.
+	 */
+	public LinkedHashMap<Long, Double> search(String query, int limit) {
+		List<String> tokens = new ArrayList<>(new LinkedHashSet<>(SearchTokenizer.tokenize(query)));
+		if (tokens.isEmpty() || limit <= 0) {
+			return new LinkedHashMap<>();
+		}
+
+		Map<Long, Double> scores = null;
+		lock.readLock().lock();
+		try {
+			int documentCount = entries.size();
+			for (String token : tokens) {
+				Map<Long, Double> tokenScores = scoreToken(token, documentCount);
+				if (scores == null) {
+					scores = tokenScores;
+				} else {
+					scores.keySet().retainAll(tokenScores.keySet());
+					scores.replaceAll((id, score) -> score + tokenScores.get(id));
+				}
+				if (scores.isEmpty()) {
+					break;
+				}
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+
+		LinkedHashMap<Long, Double> ranked = new LinkedHashMap<>();
+		scores.entrySet().stream()
+				.sorted(Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+				.limit(limit).forEach(e -> ranked.put(e.getKey(), e.getValue()));
+		return ranked;
+	}
+
+	// ------------------ PRIVATE HELPER METHODS ------------------
+
+	private Map<Long, Double> scoreToken(String token, int documentCount) {
+		Map<Long, Double> tokenScores = new HashMap<>();
+		NavigableMap<String, Map<Long, Float>> matches = postings.subMap(token, true, token + Character.MAX_VALUE,
+				false);
+
+		for (Map.Entry<String, Map<Long, Float>> term : matches.entrySet()) {
+			Map<Long, Float> documents = term.getValue();
+			double idf = Math.log(1.0 + (double) documentCount / documents.size());
+			double factor = term.getKey().length() == token.length() ? 1.0 : PREFIX_MATCH_FACTOR;
+			for (Map.Entry<Long, Float> posting : documents.entrySet()) {
+				tokenScores.merge(posting.getKey(), posting.getValue() * idf * factor, Math::max);
+			}
+		}
+		return tokenScores;
+	}
+
+	private void removePostings(Long id, IndexedEntry entry) {
+		for (String term : entry.terms().keySet()) {
+			Map<Long, Float> documents = postings.get(term);
+			if (documents != null) {
+				documents.remove(id);
+				if (documents.isEmpty()) {
+					postings.remove(term);
+				}
+			}
+		}
+		idsByProductId.remove(entry.productId(), id);
+	}
+
+	private static Map<String, Float> extractTerms(SearchDocument document) {
+		Map<String, Float> terms = new HashMap<>();
+		addField(terms, document.name(), NAME_WEIGHT);
+		addField(terms, document.description(), DESCRIPTION_WEIGHT);
+		addField(terms, document.categoryName(), CATEGORY_WEIGHT);
+		addField(terms, document.sku(), SKU_WEIGHT);
+
+		// Also index the SKU with separators stripped so it matches as one token
+		String sku = SearchTokenizer.normalize(document.sku()).replaceAll("[^\\p{L}\\p{N}]", "");
+		if (!sku.isEmpty()) {
+			terms.merge(sku, SKU_WEIGHT, Float::sum);
+		}
+		return terms;
+	}
+
+	private static void addField(Map<String, Float> terms, String text, float weight) {
+		for (String token : new LinkedHashSet<>(SearchTokenizer.tokenize(text))) {
+			terms.merge(token, weight, Float::sum);
+		}
+	}
+}
@@ -0,0 +1,112 @@
+package com.printkon.pdp.catalog.search;
+
+import com.printkon.pdp.catalog.events.CategoryChangedEvent;
+import com.printkon.pdp.catalog.events.ProductChangedEvent;
+import com.printkon.pdp.catalog.repositories.ProductRepository;
+import com.printkon.pdp.config.CatalogSearchProperties;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps {@link ProductSearchIndex} in sync with the database: a full build at
+ * startup, then incremental updates after each committed product or category
+ * change. A periodic full pass picks up writes committed on other nodes and
+ * drops products that no longer exist.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndexer implements ApplicationRunner {
+
+	private final ProductRepository productRepository;
+	private final ProductSearchIndex searchIndex;
+	private final CatalogSearchProperties searchProperties;
+
+	@Override
+	public void run(ApplicationArguments args) {
+		if (!searchProperties.isIndexEnabled()) {
+			log.info("Product search index disabled, search will use database queries");
+			return;
+		}
+
+		long start = System.currentTimeMillis();
+		indexAll();
+		searchIndex.markReady();
+		log.info("Product search index built with {} products in {} ms", searchIndex.size(),
+				System.currentTimeMillis() - start);
+	}
+
+	@Scheduled(initialDelayString = "${app.catalog.search.index-resync:PT15M}",
+			fixedDelayString = "${app.catalog.search.index-resync:PT15M}")
+	public void resync() {
+		if (!searchProperties.isIndexEnabled() || !searchIndex.isReady()) {
+			return;
+		}
+
+		long start = System.currentTimeMillis();
+		// Only ids indexed before the pass can be stale; anything added meanwhile came from a committed event
+		Set<String> stale = searchIndex.productIds();
+		stale.removeAll(indexAll());
+		stale.forEach(searchIndex::remove);
+		log.info("Product search index resynced with {} products ({} removed) in {} ms", searchIndex.size(),
+				stale.size(), System.currentTimeMillis() - start);
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	@Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+	public void onProductChanged(ProductChangedEvent event) {
+		if (!searchProperties.isIndexEnabled() || event.productIds().isEmpty()) {
+			return;
+		}
+
+		Set<String> found = new HashSet<>();
+		for (SearchDocument document : productRepository.findSearchDocumentsByProductIds(event.productIds())) {
+			searchIndex.index(document);
+			found.add(document.productId());
+		}
+		// Hard-deleted products no longer exist in the database
+		event.productIds().stream().filter(id -> !found.contains(id)).forEach(searchIndex::remove);
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	@Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+	public void onCategoryChanged(CategoryChangedEvent event) {
+		if (!searchProperties.isIndexEnabled() || event.type() == CategoryChangedEvent.ChangeType.CREATED) {
+			return;
+		}
+		// Category names are part of every product document in that category
+		productRepository.findSearchDocumentsByCategoryId(event.categoryId()).forEach(searchIndex::index);
+	}
+
+	// ------------------ PRIVATE HELPER METHODS ------------------
+
+	// Indexes every product in id order, in batches; returns the product ids seen
+	private Set<String> indexAll() {
+		int batchSize = Math.max(searchProperties.getIndexBatchSize(), 1);
+		Set<String> seen = new HashSet<>();
+		long lastId = 0L;
+		List<SearchDocument> batch;
+		do {
+			batch = productRepository.findSearchDocumentsAfter(lastId, PageRequest.of(0, batchSize));
+			for (SearchDocument document : batch) {
+				searchIndex.index(document);
+				seen.add(document.productId());
+				lastId = document.id();
+			}
+		} while (batch.size() == batchSize);
+		return seen;
+	}
+}
@@ -0,0 +1,9 @@
+package com.printkon.pdp.catalog.search;
+
+/**
+ * The searchable fields of one product, loaded with a constructor projection so
+ * that (re)indexing never materializes full entities.
+ */
+public record SearchDocument(Long id, String productId, Long version, String name, String description, String sku,
+		String categoryName) {
+}
@@ -0,0 +1,231 @@
+package com.printkon.pdp.catalog.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Character trie in which every node caches the best {@code topK} suggestions
+ * of its subtree, so a lookup costs one walk down the prefix and no scoring.
+ * Children are kept in sorted parallel arrays rather than maps to keep nodes
+ * small. Writes recompute the cached lists along the affected paths only.
+ */
+public class SuggestionTrie {
+
+	public record Suggestion(String id, String label, String slug, double weight) {
+	}
+
+	private static final Comparator<Suggestion> BY_WEIGHT = Comparator.comparingDouble(Suggestion::weight).reversed()
+			.thenComparing(Suggestion::label, Comparator.nullsLast(Comparator.naturalOrder()))
+			.thenComparing(Suggestion::id);
+
+	private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+
+	private final int topK;
+	private final Node root = new Node();
+	private final Map<String, Set<String>> keysById = new HashMap<>();
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	public SuggestionTrie(int topK) {
+		if (topK <= 0) {
+			throw new IllegalArgumentException("topK must be positive");
+		}
+		this.topK = topK;
+	}
+
+	/**
+	 * Adds or replaces the suggestion with the given id, reachable under each of
+	 * the given (already normalized) keys.
+	 */
+	public void put(Suggestion suggestion, Set<String> keys) {
+		lock.writeLock().lock();
+		try {
+			removeInternal(suggestion.id());
+			for (String key : keys) {
+				insert(key, suggestion);
+			}
+			keysById.put(suggestion.id(), Set.copyOf(keys));
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void remove(String id) {
+		lock.writeLock().lock();
+		try {
+			removeInternal(id);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	// Copy of the ids currently suggested
+	public Set<String> ids() {
+		lock.readLock().lock();
+		try {
+			return new HashSet<>(keysById.keySet());
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return keysById.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public List<Suggestion> complete(String prefix, int limit) {
+		lock.readLock().lock();
+		try {
+			Node node = root;
+			for (int i = 0; i < prefix.length() && node != null; i++) {
+				node = node.child(prefix.charAt(i));
+			}
+			if (node == null) {
+				return List.of();
+			}
+			Suggestion[] top = node.top;
+			return List.of(Arrays.copyOf(top, Math.min(limit, top.length)));
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Normalized lookup keys for the given texts: every word position starts a key
+	 * so that "cards" also finds "Business Cards".
+	 */
+	public static Set<String> keysFor(Collection<String> texts, int maxWordSuffixes) {
+		Set<String> keys = new LinkedHashSet<>();
+		for (String text : texts) {
+			List<String> tokens = SearchTokenizer.tokenize(text);
+			for (int i = 0; i < tokens.size() && i < maxWordSuffixes; i++) {
+				keys.add(String.join(" ", tokens.subList(i, tokens.size())));
+			}
+		}
+		return keys;
+	}
+
+	// ------------------ PRIVATE HELPER METHODS ------------------
+
+	private void insert(String key, Suggestion suggestion) {
+		List<Node> path = new ArrayList<>(key.length() + 1);
+		Node node = root;
+		path.add(node);
+		for (int i = 0; i < key.length(); i++) {
+			node = node.getOrCreateChild(key.charAt(i));
+			path.add(node);
+		}
+		node.terminals.removeIf(s -> s.id().equals(suggestion.id()));
+		node.terminals.add(suggestion);
+		for (int i = path.size() - 1; i >= 0; i--) {
+			path.get(i).recomputeTop(topK);
+		}
+	}
+
+	private void removeInternal(String id) {
+		Set<String> keys = keysById.remove(id);
+		if (keys == null) {
+			return;
+		}
+		for (String key : keys) {
+			List<Node> path = new ArrayList<>(key.length() + 1);
+			Node node = root;
+			path.add(node);
+			for (int i = 0; i < key.length() && node != null; i++) {
+				node = node.child(key.charAt(i));
+				path.add(node);
+			}
+			if (node == null) {
+				continue;
+			}
+			node.terminals.removeIf(s -> s.id().equals(id));
+			for (int i = path.size() - 1; i >= 0; i--) {
+				Node current = path.get(i);
+				if (i > 0 && current.isEmpty()) {
+					path.get(i - 1).removeChild(key.charAt(i - 1));
+				} else {
+					current.recomputeTop(topK);
+				}
+			}
+		}
+	}
+
+	private static final class Node {
+		private char[] labels = new char[0];
+		private Node[] children = new Node[0];
+		private final List<Suggestion> terminals = new ArrayList<>(1);
+		private volatile Suggestion[] top = NO_SUGGESTIONS;
+
+		Node child(char c) {
+			int index = Arrays.binarySearch(labels, c);
+			return index >= 0 ? children[index] : null;
+		}
+
+		Node getOrCreateChild(char c) {
+			int index = Arrays.binarySearch(labels, c);
+			if (index >= 0) {
+				return children[index];
+			}
+			int insertAt = -index - 1;
+			Node created = new Node();
+			char[] newLabels = new char[labels.length + 1];
+			Node[] newChildren = new Node[children.length + 1];
+			System.arraycopy(labels, 0, newLabels, 0, insertAt);
+			System.arraycopy(children, 0, newChildren, 0, insertAt);
+			newLabels[insertAt] = c;
+			newChildren[insertAt] = created;
+			System.arraycopy(labels, insertAt, newLabels, insertAt + 1, labels.length - insertAt);
+			System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+			labels = newLabels;
+			children = newChildren;
+			return created;
+		}
+
+		void removeChild(char c) {
+			int index = Arrays.binarySearch(labels, c);
+			if (index < 0) {
+				return;
+			}
+			char[] newLabels = new char[labels.length - 1];
+			Node[] newChildren = new Node[children.length - 1];
+			System.arraycopy(labels, 0, newLabels, 0, index);
+			System.arraycopy(children, 0, newChildren, 0, index);
+			System.arraycopy(labels, index + 1, newLabels, index, labels.length - index - 1);
+			System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+			labels = newLabels;
+			children = newChildren;
+		}
+
+		boolean isEmpty() {
+			return terminals.isEmpty() && children.length == 0;
+		}
+
+		void recomputeTop(int topK) {
+			Map<String, Suggestion> candidates = new LinkedHashMap<>();
+			for (Suggestion s : terminals) {
+				candidates.putIfAbsent(s.id(), s);
+			}
+			for (Node child : children) {
+				for (Suggestion s : child.top) {
+					candidates.putIfAbsent(s.id(), s);
+				}
+			}
+			top = candidates.values().stream().sorted(BY_WEIGHT).limit(topK).toArray(Suggestion[]::new);
+		}
+	}
+}
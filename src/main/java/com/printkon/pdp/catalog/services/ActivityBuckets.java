@@ -0,0 +1,155 @@
+package com.printkon.pdp.catalog.services;
+
+import com.printkon.pdp.common.enums.TrendingWindow;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Rolling activity of one product in three ring buffers: the last 60 minutes,
+ * 24 hours and 7 days. Every amount is added to the current slot of all three,
+ * so each ring is the minute series rolled up at its own resolution. Slots are
+ * cleared lazily as time moves past them.
+ *
+ * <p>
+ * Serialized form: the newest minute as a long followed by the 91 floats,
+ * 372 bytes per product.
+ */
+final class ActivityBuckets {
+
+	static final int MINUTES = 60;
+	static final int HOURS = 24;
+	static final int DAYS = 7;
+	static final int SERIALIZED_BYTES = Long.BYTES + (MINUTES + HOURS + DAYS) * Float.BYTES;
+
+	private static final int MINUTES_PER_HOUR = 60;
+	private static final int MINUTES_PER_DAY = 1_440;
+
+	private final float[] minutes = new float[MINUTES];
+	private final float[] hours = new float[HOURS];
+	private final float[] days = new float[DAYS];
+	// Absolute minute (since the epoch) of the newest slot
+	private long head;
+	private boolean dirty;
+
+	ActivityBuckets(long minute) {
+		this.head = minute;
+	}
+
+	synchronized void add(long minute, float amount) {
+		advance(minute);
+		long at = Math.max(minute, head - MINUTES + 1);
+		minutes[slot(at, MINUTES)] += amount;
+		hours[slot(at / MINUTES_PER_HOUR, HOURS)] += amount;
+		days[slot(at / MINUTES_PER_DAY, DAYS)] += amount;
+		dirty = true;
+	}
+
+	/**
+	 * Adds another product's or node's rings slot by slot, after moving both to
+	 * the later of the two heads. {@code other} must not be in use elsewhere.
+	 */
+	synchronized void addAll(ActivityBuckets other) {
+		advance(other.head);
+		other.advance(head);
+		for (int i = 0; i < MINUTES; i++) {
+			minutes[i] += other.minutes[i];
+		}
+		for (int i = 0; i < HOURS; i++) {
+			hours[i] += other.hours[i];
+		}
+		for (int i = 0; i < DAYS; i++) {
+			days[i] += other.days[i];
+		}
+	}
+
+	/**
+	 * Decayed sum over the window: the slot {@code age} units old is weighted by
+	 * {@code decay[age]}.
+	 */
+	synchronized double score(TrendingWindow window, long minute, double[] decay) {
+		advance(minute);
+		return switch (window) {
+			case HOUR -> decayedSum(minutes, head, decay);
+			case DAY -> decayedSum(hours, head / MINUTES_PER_HOUR, decay);
+			case WEEK -> decayedSum(days, head / MINUTES_PER_DAY, decay);
+		};
+	}
+
+	synchronized boolean isIdle(long minute) {
+		advance(minute);
+		for (float value : days) {
+			if (value != 0f) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Serialized snapshot if anything was added since the last call, else null.
+	 */
+	synchronized byte[] drainIfDirty() {
+		if (!dirty) {
+			return null;
+		}
+		dirty = false;
+		ByteBuffer buffer = ByteBuffer.allocate(SERIALIZED_BYTES).putLong(head);
+		for (float[] ring : new float[][] { minutes, hours, days }) {
+			for (float value : ring) {
+				buffer.putFloat(value);
+			}
+		}
+		return buffer.array();
+	}
+
+	synchronized void markDirty() {
+		dirty = true;
+	}
+
+	static ActivityBuckets fromBytes(byte[] bytes) {
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		ActivityBuckets buckets = new ActivityBuckets(buffer.getLong());
+		for (float[] ring : new float[][] { buckets.minutes, buckets.hours, buckets.days }) {
+			for (int i = 0; i < ring.length; i++) {
+				ring[i] = buffer.getFloat();
+			}
+		}
+		return buckets;
+	}
+
+	// ------------------ PRIVATE HELPER METHODS ------------------
+
+	private void advance(long minute) {
+		if (minute <= head) {
+			return;
+		}
+		clear(minutes, head, minute);
+		clear(hours, head / MINUTES_PER_HOUR, minute / MINUTES_PER_HOUR);
+		clear(days, head / MINUTES_PER_DAY, minute / MINUTES_PER_DAY);
+		head = minute;
+	}
+
+	// Zeroes the slots that come back into use when the ring moves from one unit to a later one
+	private static void clear(float[] ring, long from, long to) {
+		if (to - from >= ring.length) {
+			Arrays.fill(ring, 0f);
+			return;
+		}
+		for (long unit = from + 1; unit <= to; unit++) {
+			ring[slot(unit, ring.length)] = 0f;
+		}
+	}
+
+	private static double decayedSum(float[] ring, long newest, double[] decay) {
+		double sum = 0;
+		for (int age = 0; age < ring.length; age++) {
+			sum += ring[slot(newest - age, ring.length)] * decay[age];
+		}
+		return sum;
+	}
+
+	private static int slot(long unit, int length) {
+		return (int) Math.floorMod(unit, (long) length);
+	}
+}
@@ -0,0 +1,422 @@
+package com.printkon.pdp.catalog.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.printkon.pdp.catalog.dto.CatalogImportResult;
+import com.printkon.pdp.catalog.dto.ImportRowError;
+import com.printkon.pdp.catalog.events.ProductChangedEvent;
+import com.printkon.pdp.catalog.events.ProductChangedEvent.ChangeType;
+import com.printkon.pdp.common.dto.ResponseStructure;
+import com.printkon.pdp.common.utils.CsvUtils;
+import com.printkon.pdp.config.CatalogBulkProperties;
+import com.printkon.pdp.exceptions.BusinessRuleException;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streaming catalog import and export. Files are read and written line by line
+ * and rows are applied with plain JDBC batches, one committed transaction per
+ * chunk, so memory stays bounded by the chunk size whatever the file size.
+ * Entities and the persistence context are never involved.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CatalogBulkService {
+
+	public enum Format {
+		CSV("text/csv"), NDJSON("application/x-ndjson");
+
+		private final String mediaType;
+
+		Format(String mediaType) {
+			this.mediaType = mediaType;
+		}
+
+		public static Format fromName(String name) {
+			try {
+				return valueOf(name.trim().toUpperCase(Locale.ROOT));
+			} catch (IllegalArgumentException | NullPointerException e) {
+				throw new BusinessRuleException("Unsupported format: " + name + " (use csv or ndjson)");
+			}
+		}
+
+		public static Format fromContentType(String contentType) {
+			if (contentType != null) {
+				String type = contentType.toLowerCase(Locale.ROOT);
+				for (Format format : values()) {
+					if (type.startsWith(format.mediaType)) {
+						return format;
+					}
+				}
+			}
+			throw new BusinessRuleException("Unsupported content type: " + contentType);
+		}
+	}
+
+	// Null parameters leave the column unchanged
+	private static final String UPDATE_SQL = "UPDATE products SET price = COALESCE(?, price), "
+			+ "stock_quantity = COALESCE(?, stock_quantity), available = COALESCE(?, available), "
+			+ "version = version + 1, updated_at = ? WHERE product_id = ?";
+
+	private static final String EXPORT_SQL = "SELECT p.id, p.product_id, p.name, p.sku, c.category_id, p.price, "
+			+ "p.stock_quantity, p.available FROM products p JOIN categories c ON c.id = p.category_id "
+			+ "WHERE p.id > ? ORDER BY p.id LIMIT ?";
+
+	private static final List<String> EXPORT_COLUMNS = List.of("productId", "name", "sku", "categoryId", "price",
+			"stockQuantity", "available");
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final ApplicationEventPublisher eventPublisher;
+	private final ObjectMapper objectMapper;
+	private final CatalogBulkProperties properties;
+
+	private record ImportRow(long line, String productId, BigDecimal price, Integer stockQuantity, Boolean available) {
+	}
+
+	private record ExportRow(long id, String productId, String name, String sku, String categoryId, BigDecimal price,
+			int stockQuantity, boolean available) {
+	}
+
+	private static class InvalidRowException extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+		private final String productId;
+
+		InvalidRowException(String productId, String message) {
+			super(message);
+			this.productId = productId;
+		}
+	}
+
+	// ------------------ IMPORT ------------------
+
+	/**
+	 * Applies price, stock and availability updates keyed by productId. Columns
+	 * other than productId are optional; empty values leave the field unchanged.
+	 * Each chunk commits on its own, so a failure only rolls back its chunk.
+	 */
+	public ResponseEntity<ResponseStructure<CatalogImportResult>> importProducts(InputStream input, Format format)
+			throws IOException {
+		log.info("Starting {} catalog import", format);
+		long start = System.currentTimeMillis();
+
+		int chunkSize = Math.max(properties.getChunkSize(), 1);
+		ImportProgress progress = new ImportProgress(Math.max(properties.getMaxReportedErrors(), 0));
+		List<ImportRow> chunk = new ArrayList<>(chunkSize);
+		Map<String, Integer> csvColumns = null;
+
+		BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+		String line;
+		long lineNumber = 0;
+		while ((line = reader.readLine()) != null) {
+			lineNumber++;
+			if (line.isBlank()) {
+				continue;
+			}
+			if (format == Format.CSV && csvColumns == null) {
+				csvColumns = parseCsvHeader(line);
+				continue;
+			}
+
+			progress.totalRows++;
+			try {
+				chunk.add(format == Format.CSV ? parseCsvRow(lineNumber, line, csvColumns)
+						: parseJsonRow(lineNumber, line));
+			} catch (InvalidRowException e) {
+				progress.fail(lineNumber, e.productId, e.getMessage());
+			}
+
+			if (chunk.size() >= chunkSize) {
+				writeChunk(chunk, progress);
+				chunk.clear();
+			}
+		}
+		if (!chunk.isEmpty()) {
+			writeChunk(chunk, progress);
+		}
+
+		CatalogImportResult result = CatalogImportResult.builder().totalRows(progress.totalRows)
+				.updatedRows(progress.updatedRows).failedRows(progress.failedRows)
+				.chunksCommitted(progress.chunksCommitted).errors(progress.errors)
+				.errorsTruncated(progress.failedRows > progress.errors.size()).processedAt(LocalDateTime.now())
+				.build();
+
+		log.info("Catalog import finished in {} ms: {} rows, {} updated, {} failed", System.currentTimeMillis() - start,
+				result.getTotalRows(), result.getUpdatedRows(), result.getFailedRows());
+		return buildSuccessResponse("Catalog import completed", result, HttpStatus.OK);
+	}
+
+	// ------------------ EXPORT ------------------
+
+	/**
+	 * Streams the whole catalog, reading it in keyset-ordered slices of
+	 * {@code exportFetchSize} rows.
+	 */
+	public ResponseEntity<StreamingResponseBody> exportProducts(String formatName) {
+		Format format = Format.fromName(formatName);
+		String filename = "products." + format.name().toLowerCase(Locale.ROOT);
+
+		StreamingResponseBody body = output -> {
+			Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+			long exported = writeExport(writer, format);
+			writer.flush();
+			log.info("Catalog export finished: {} products as {}", exported, format);
+		};
+
+		return ResponseEntity.ok().contentType(MediaType.parseMediaType(format.mediaType))
+				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"").body(body);
+	}
+
+	// ------------------ PRIVATE HELPER METHODS ------------------
+
+	/**
+	 * Updates one chunk in its own transaction. Product ids are resolved first:
+	 * drivers may answer a batch with {@link Statement#SUCCESS_NO_INFO} instead of
+	 * row counts, which says nothing about whether the product exists.
+	 */
+	private void writeChunk(List<ImportRow> chunk, ImportProgress progress) {
+		LocalDateTime now = LocalDateTime.now();
+		List<ImportRow> known = new ArrayList<>(chunk.size());
+		List<ImportRow> unknown = new ArrayList<>();
+		int[][] counts;
+		try {
+			counts = transactionTemplate.execute(status -> {
+				Set<String> existing = existingProductIds(chunk);
+				chunk.forEach(row -> (existing.contains(row.productId()) ? known : unknown).add(row));
+				return known.isEmpty() ? new int[0][]
+						: jdbcTemplate.batchUpdate(UPDATE_SQL, known, known.size(), (ps, row) -> {
+							ps.setObject(1, row.price(), Types.DECIMAL);
+							ps.setObject(2, row.stockQuantity(), Types.INTEGER);
+							ps.setObject(3, row.available(), Types.BOOLEAN);
+							ps.setObject(4, now);
+							ps.setString(5, row.productId());
+						});
+			});
+		} catch (DataAccessException e) {
+			String cause = e.getMostSpecificCause().getMessage();
+			log.error("Catalog import chunk of {} rows rolled back: {}", chunk.size(), cause);
+			chunk.forEach(row -> progress.fail(row.line(), row.productId(), "Chunk rolled back: " + cause));
+			return;
+		}
+
+		List<String> updatedIds = new ArrayList<>(chunk.size());
+		int index = 0;
+		for (int[] batch : counts) {
+			for (int count : batch) {
+				ImportRow row = known.get(index++);
+				if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+					updatedIds.add(row.productId());
+				} else {
+					progress.fail(row.line(), row.productId(), "Product not found");
+				}
+			}
+		}
+		unknown.forEach(row -> progress.fail(row.line(), row.productId(), "Product not found"));
+
+		progress.updatedRows += updatedIds.size();
+		progress.chunksCommitted++;
+		if (!updatedIds.isEmpty()) {
+			eventPublisher.publishEvent(new ProductChangedEvent(ChangeType.UPDATED, updatedIds));
+		}
+		log.info("Catalog import progress: {} rows read, {} updated, {} failed, {} chunks committed",
+				progress.totalRows, progress.updatedRows, progress.failedRows, progress.chunksCommitted);
+	}
+
+	private Set<String> existingProductIds(List<ImportRow> chunk) {
+		String sql = "SELECT product_id FROM products WHERE product_id IN ("
+				+ String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+		return new HashSet<>(jdbcTemplate.queryForList(sql, String.class,
+				chunk.stream().map(ImportRow::productId).toArray()));
+	}
+
+	private long writeExport(Writer writer, Format format) throws IOException {
+		if (format == Format.CSV) {
+			writer.write(String.join(",", EXPORT_COLUMNS));
+			writer.write('\n');
+		}
+
+		int fetchSize = Math.max(properties.getExportFetchSize(), 1);
+		long lastId = 0L;
+		long exported = 0;
+		List<ExportRow> rows;
+		do {
+			rows = jdbcTemplate.query(EXPORT_SQL,
+					(rs, rowNum) -> new ExportRow(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4),
+							rs.getString(5), rs.getBigDecimal(6), rs.getInt(7), rs.getBoolean(8)),
+					lastId, fetchSize);
+			for (ExportRow row : rows) {
+				writer.write(format == Format.CSV ? toCsvLine(row) : toJsonLine(row));
+				writer.write('\n');
+				lastId = row.id();
+			}
+			exported += rows.size();
+			writer.flush();
+		} while (rows.size() == fetchSize);
+
+		return exported;
+	}
+
+	private String toCsvLine(ExportRow row) {
+		return String.join(",", CsvUtils.escape(row.productId()), CsvUtils.escape(row.name()),
+				CsvUtils.escape(row.sku()), CsvUtils.escape(row.categoryId()), CsvUtils.escape(row.price()),
+				CsvUtils.escape(row.stockQuantity()), CsvUtils.escape(row.available()));
+	}
+
+	private String toJsonLine(ExportRow row) throws IOException {
+		ObjectNode node = objectMapper.createObjectNode();
+		node.put("productId", row.productId());
+		node.put("name", row.name());
+		node.put("sku", row.sku());
+		node.put("categoryId", row.categoryId());
+		node.put("price", row.price());
+		node.put("stockQuantity", row.stockQuantity());
+		node.put("available", row.available());
+		return objectMapper.writeValueAsString(node);
+	}
+
+	private Map<String, Integer> parseCsvHeader(String line) {
+		Map<String, Integer> columns = new HashMap<>();
+		List<String> names = CsvUtils.parseLine(line);
+		for (int i = 0; i < names.size(); i++) {
+			columns.put(names.get(i).trim(), i);
+		}
+		if (!columns.containsKey("productId")) {
+			throw new BusinessRuleException("CSV header must contain a productId column");
+		}
+		return columns;
+	}
+
+	private ImportRow parseCsvRow(long lineNumber, String line, Map<String, Integer> columns) {
+		List<String> fields = CsvUtils.parseLine(line);
+		String productId = csvField(fields, columns, "productId");
+		return toImportRow(lineNumber, productId, csvField(fields, columns, "price"),
+				csvField(fields, columns, "stockQuantity"), csvField(fields, columns, "available"));
+	}
+
+	private String csvField(List<String> fields, Map<String, Integer> columns, String name) {
+		Integer index = columns.get(name);
+		return index != null && index < fields.size() ? fields.get(index).trim() : null;
+	}
+
+	private ImportRow parseJsonRow(long lineNumber, String line) {
+		JsonNode node;
+		try {
+			node = objectMapper.readTree(line);
+		} catch (IOException e) {
+			throw new InvalidRowException(null, "Malformed JSON");
+		}
+		return toImportRow(lineNumber, jsonField(node, "productId"), jsonField(node, "price"),
+				jsonField(node, "stockQuantity"), jsonField(node, "available"));
+	}
+
+	private String jsonField(JsonNode node, String name) {
+		JsonNode value = node.get(name);
+		return value == null || value.isNull() ? null : value.asText().trim();
+	}
+
+	private ImportRow toImportRow(long lineNumber, String productId, String price, String stockQuantity,
+			String available) {
+		if (!StringUtils.hasText(productId) || productId.length() != 10) {
+			throw new InvalidRowException(productId, "productId must be exactly 10 characters");
+		}
+
+		BigDecimal parsedPrice = null;
+		if (StringUtils.hasText(price)) {
+			try {
+				parsedPrice = new BigDecimal(price);
+			} catch (NumberFormatException e) {
+				throw new InvalidRowException(productId, "Invalid price: " + price);
+			}
+			if (parsedPrice.signum() <= 0) {
+				throw new InvalidRowException(productId, "Price must be greater than 0");
+			}
+		}
+
+		Integer parsedStock = null;
+		if (StringUtils.hasText(stockQuantity)) {
+			try {
+				parsedStock = Integer.valueOf(stockQuantity);
+			} catch (NumberFormatException e) {
+				throw new InvalidRowException(productId, "Invalid stockQuantity: " + stockQuantity);
+			}
+			if (parsedStock < 0) {
+				throw new InvalidRowException(productId, "Stock quantity cannot be negative");
+			}
+		}
+
+		Boolean parsedAvailable = null;
+		if (StringUtils.hasText(available)) {
+			if (!"true".equalsIgnoreCase(available) && !"false".equalsIgnoreCase(available)) {
+				throw new InvalidRowException(productId, "Invalid available flag: " + available);
+			}
+			parsedAvailable = Boolean.valueOf(available);
+		}
+
+		if (parsedPrice == null && parsedStock == null && parsedAvailable == null) {
+			throw new InvalidRowException(productId, "Nothing to update");
+		}
+		return new ImportRow(lineNumber, productId, parsedPrice, parsedStock, parsedAvailable);
+	}
+
+	private <T> ResponseEntity<ResponseStructure<T>> buildSuccessResponse(String message, T data, HttpStatus status) {
+		ResponseStructure<T> structure = ResponseStructure.<T>builder().success(true).statusCode(status.value())
+				.message(message).data(data).timestamp(LocalDateTime.now()).build();
+		return ResponseEntity.status(status).body(structure);
+	}
+
+	// Running totals; only the first maxErrors row errors are kept
+	private static class ImportProgress {
+		private final int maxErrors;
+		private final List<ImportRowError> errors = new ArrayList<>();
+		private long totalRows;
+		private long updatedRows;
+		private long failedRows;
+		private int chunksCommitted;
+
+		ImportProgress(int maxErrors) {
+			this.maxErrors = maxErrors;
+		}
+
+		void fail(long line, String productId, String message) {
+			failedRows++;
+			if (errors.size() < maxErrors) {
+				errors.add(ImportRowError.builder().line(line).productId(productId).message(message).build());
+			}
+		}
+	}
+}
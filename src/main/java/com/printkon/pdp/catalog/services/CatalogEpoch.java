@@ -0,0 +1,151 @@
+package com.printkon.pdp.catalog.services;
+
+import com.printkon.pdp.catalog.events.ProductChangedEvent;
+import com.printkon.pdp.catalog.repositories.ProductRepository;
+import com.printkon.pdp.config.CatalogCacheProperties;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.function.Supplier;
+
+/**
+ * ETag / Last-Modified validators of the public catalog reads, derived from
+ * database state so every node hands out the same tag for the same data and
+ * list endpoints can answer a conditional GET with 304 before loading rows.
+ *
+ * <p>
+ * Category tags come from the version of the {@link CategoryTree} snapshot
+ * being served. Product list tags add the product count and latest catalog
+ * edit, re-read at most once per {@code validator-refresh} or right after a
+ * local product write. Stock movements bump {@code updatedAt} too, since list
+ * bodies show stock quantities. Product responses also embed stats that change
+ * without a catalog write; their tags roll over once per product cache TTL,
+ * which is the staleness cached product details already allow.
+ */
+@Component
+public class CatalogEpoch {
+
+	private record State(String version, long lastModified, long loadedAt) {
+	}
+
+	private final CategoryTree categoryTree;
+	private final ProductRepository productRepository;
+	private final long statsWindowMillis;
+	private final long refreshMillis;
+
+	private volatile State products;
+	private volatile boolean productsStale = true;
+
+	public CatalogEpoch(CatalogCacheProperties properties, CategoryTree categoryTree,
+			ProductRepository productRepository) {
+		this.categoryTree = categoryTree;
+		this.productRepository = productRepository;
+		this.statsWindowMillis = Math.max(1, properties.getProductTtl().toMillis());
+		this.refreshMillis = properties.getValidatorRefresh().toMillis();
+	}
+
+	// ------------------ VALIDATORS ------------------
+
+	/**
+	 * Tag for category reads: they embed product counts and subcategories, so it
+	 * follows the category tree snapshot.
+	 */
+	public String categoryTag() {
+		return tag("c", categoryTree.current().version());
+	}
+
+	public long categoryLastModified() {
+		return categoryTree.current().lastModified();
+	}
+
+	public String productListTag() {
+		return tag("l", categoryTree.current().version(), products().version(), version(statsWindow()));
+	}
+
+	public long productListLastModified() {
+		return Math.max(Math.max(categoryLastModified(), products().lastModified()), statsWindow() * statsWindowMillis);
+	}
+
+	/**
+	 * Tag for a single product, from its own version and timestamp plus the
+	 * category tree version (responses embed the category name).
+	 */
+	public String productTag(Long version, LocalDateTime updatedAt) {
+		return tag("p", version(version != null ? version : 0, toMillis(updatedAt)), categoryTree.current().version(),
+				version(statsWindow()));
+	}
+
+	public long productLastModified(LocalDateTime updatedAt) {
+		return Math.max(Math.max(toMillis(updatedAt), categoryLastModified()), statsWindow() * statsWindowMillis);
+	}
+
+	/**
+	 * Answers a conditional GET from the given validators, loading the response
+	 * only when the client's copy is stale. A {@code null} return tells Spring MVC
+	 * the 304 has already been written.
+	 */
+	public <T> ResponseEntity<T> ifModified(WebRequest request, String etag, long lastModified,
+			Supplier<ResponseEntity<T>> loader) {
+		if (request.checkNotModified(etag, lastModified)) {
+			return null;
+		}
+		ResponseEntity<T> response = loader.get();
+		return ResponseEntity.status(response.getStatusCode()).headers(response.getHeaders()).eTag(etag)
+				.lastModified(lastModified).cacheControl(CacheControl.noCache()).body(response.getBody());
+	}
+
+	// ------------------ EVENTS ------------------
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductChanged(ProductChangedEvent event) {
+		// Stock changes included: list bodies embed stockQuantity and inStock
+		productsStale = true;
+	}
+
+	// ------------------ PRIVATE HELPER METHODS ------------------
+
+	// Dot-separated base-36 parts; shared with the category tree fingerprint
+	static String version(long... parts) {
+		StringBuilder version = new StringBuilder();
+		for (long part : parts) {
+			if (version.length() > 0) {
+				version.append('.');
+			}
+			version.append(Long.toString(part, 36));
+		}
+		return version.toString();
+	}
+
+	static long toMillis(LocalDateTime timestamp) {
+		return timestamp != null ? timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : 0;
+	}
+
+	// row: product count, latest updatedAt
+	private State products() {
+		State current = products;
+		long now = System.currentTimeMillis();
+		if (current != null && !productsStale && now - current.loadedAt() < refreshMillis) {
+			return current;
+		}
+		productsStale = false;
+		Object[] row = productRepository.catalogFingerprint().get(0);
+		long updated = toMillis((LocalDateTime) row[1]);
+		State loaded = new State(version(((Number) row[0]).longValue(), updated), updated, now);
+		products = loaded;
+		return loaded;
+	}
+
+	private long statsWindow() {
+		return System.currentTimeMillis() / statsWindowMillis;
+	}
+
+	private static String tag(String kind, String... versions) {
+		return "\"" + kind + "-" + String.join("-", versions) + "\"";
+	}
+}
@@ -1,11 +1,16 @@
 package com.printkon.pdp.catalog.services;
 
 import com.printkon.pdp.catalog.dto.*;
+import com.printkon.pdp.catalog.events.CategoryChangedEvent;
+import com.printkon.pdp.catalog.events.CategoryChangedEvent.ChangeType;
 import com.printkon.pdp.catalog.models.Category;
 import com.printkon.pdp.catalog.repositories.CategoryRepository;
 import com.printkon.pdp.catalog.repositories.ProductRepository;
+import com.printkon.pdp.common.dto.CursorPage;
 import com.printkon.pdp.common.dto.PagedResponse;
 import com.printkon.pdp.common.dto.ResponseStructure;
+import com.printkon.pdp.common.ids.IdGenerator;
+import com.printkon.pdp.common.utils.KeysetCursor;
 import com.printkon.pdp.exceptions.BusinessRuleException;
 import com.printkon.pdp.exceptions.ResourceNotFoundException;
 import com.printkon.pdp.storage.StorageService;
@@ -13,13 +18,19 @@ import com.printkon.pdp.storage.dto.ImageUploadResponse;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.multipart.MultipartFile;
@@ -28,7 +39,7 @@ import jakarta.validation.Valid;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -40,12 +51,18 @@ public class CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final ProductRepository productRepository;
+    private final CategoryTree categoryTree;
     private final StorageService storageService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IdGenerator idGenerator;
 
-    private static final int MAX_ID_GENERATION_ATTEMPTS = 5;
     private static final int DEFAULT_PAGE_SIZE = 20;
     private static final int MAX_PAGE_SIZE = 100;
 
+    // Columns usable as keyset sort keys (non-null, plus the id tie-breaker)
+    private static final Map<String, Class<?>> CATEGORY_KEYSET_FIELDS = Map.of(
+            "displayOrder", Integer.class, "name", String.class, "createdAt", LocalDateTime.class, "id", Long.class);
+
     // ------------------ CREATE ------------------
     public ResponseEntity<ResponseStructure<CategoryResponse>> createCategory(
             @Valid CategoryCreateRequest request,
@@ -76,39 +93,26 @@ public class CategoryService {
                 category.setParentCategory(parentCategory);
             }
 
-            // Generate unique category ID
-            for (int attempt = 0; attempt < MAX_ID_GENERATION_ATTEMPTS; attempt++) {
-                try {
-                    // Upload images
-                    if (thumbnailImage != null && !thumbnailImage.isEmpty()) {
-                        ImageUploadResponse thumbnailResponse = storageService.store(thumbnailImage, "categories");
-                        category.setThumbnailUrl(thumbnailResponse.getImageUrl());
-                    }
-                    
-                    if (bannerImage != null && !bannerImage.isEmpty()) {
-                        ImageUploadResponse bannerResponse = storageService.store(bannerImage, "categories");
-                        category.setBannerUrl(bannerResponse.getImageUrl());
-                    }
+            category.setCategoryId(nextFreeCategoryId());
 
-                    Category savedCategory = categoryRepository.save(category);
-                    log.info("Category created successfully with ID: {} and categoryId: {}", 
-                        savedCategory.getId(), savedCategory.getCategoryId());
+            // Upload images
+            if (thumbnailImage != null && !thumbnailImage.isEmpty()) {
+                ImageUploadResponse thumbnailResponse = storageService.store(thumbnailImage, "categories");
+                category.setThumbnailUrl(thumbnailResponse.getImageUrl());
+            }
 
-                    return buildSuccessResponse("Category created successfully", 
-                            mapToResponse(savedCategory), HttpStatus.CREATED);
-                    
-                } catch (org.springframework.dao.DataIntegrityViolationException e) {
-                    if (e.getMessage().contains("category_id") && attempt < MAX_ID_GENERATION_ATTEMPTS - 1) {
-                        category.setCategoryId(generateCustomCategoryId());
-                        log.warn("Category ID collision detected, regenerating... Attempt: {}", attempt + 1);
-                    } else {
-                        throw new BusinessRuleException("Failed to create category after " + 
-                            MAX_ID_GENERATION_ATTEMPTS + " attempts due to ID collision");
-                    }
-                }
+            if (bannerImage != null && !bannerImage.isEmpty()) {
+                ImageUploadResponse bannerResponse = storageService.store(bannerImage, "categories");
+                category.setBannerUrl(bannerResponse.getImageUrl());
             }
-            
-            throw new BusinessRuleException("Failed to create category");
+
+            Category savedCategory = categoryRepository.save(category);
+            publishChange(ChangeType.CREATED, savedCategory.getCategoryId());
+            log.info("Category created successfully with ID: {} and categoryId: {}", 
+                savedCategory.getId(), savedCategory.getCategoryId());
+
+            return buildSuccessResponse("Category created successfully", 
+                    mapToResponse(savedCategory), HttpStatus.CREATED);
             
         } catch (IOException e) {
             log.error("Error uploading images for category: {}", request.getName(), e);
@@ -122,41 +126,34 @@ public class CategoryService {
     }
 
     // ------------------ READ ------------------
-    @Transactional(readOnly = true)
+    // Hierarchy reads are served from the in-memory CategoryTree; SUPPORTS keeps them off the connection pool
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public ResponseEntity<ResponseStructure<CategoryResponse>> getCategoryById(String categoryId) {
         log.info("Fetching category with ID: {}", categoryId);
 
-        Category category = categoryRepository.findByCategoryIdAndActiveTrue(categoryId)
+        CategoryResponse category = categoryTree.current().activeById(categoryId)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with ID: " + categoryId));
 
         log.info("Successfully fetched category: '{}' (ID: {})", category.getName(), category.getCategoryId());
-        return buildSuccessResponse("Category fetched successfully", mapToResponse(category), HttpStatus.OK);
+        return buildSuccessResponse("Category fetched successfully", category, HttpStatus.OK);
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public ResponseEntity<ResponseStructure<CategoryResponse>> getCategoryBySlug(String slug) {
         log.info("Fetching category with slug: {}", slug);
 
-        Category category = categoryRepository.findBySlugAndActiveTrue(slug)
+        CategoryResponse category = categoryTree.current().activeBySlug(slug)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with slug: " + slug));
 
-        return buildSuccessResponse("Category fetched successfully", mapToResponse(category), HttpStatus.OK);
+        return buildSuccessResponse("Category fetched successfully", category, HttpStatus.OK);
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public ResponseEntity<ResponseStructure<List<CategoryResponse>>> getAllCategories(Boolean includeInactive) {
         log.info("Fetching all categories, includeInactive: {}", includeInactive);
 
-        List<Category> categories;
-        if (Boolean.TRUE.equals(includeInactive)) {
-            categories = categoryRepository.findAll();
-        } else {
-            categories = categoryRepository.findByActiveTrueOrderByDisplayOrderAsc();
-        }
-
-        List<CategoryResponse> responses = categories.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        CategoryTree.Snapshot tree = categoryTree.current();
+        List<CategoryResponse> responses = Boolean.TRUE.equals(includeInactive) ? tree.all() : tree.active();
 
         log.info("Successfully fetched {} categories", responses.size());
         return buildSuccessResponse("Categories fetched successfully", responses, HttpStatus.OK);
@@ -185,26 +182,48 @@ public class CategoryService {
     }
 
     @Transactional(readOnly = true)
+    public ResponseEntity<ResponseStructure<CursorPage<CategoryResponse>>> scrollCategories(
+            String cursor, Integer size, String sortBy, String sortDirection, Boolean includeInactive) {
+
+        log.info("Scrolling categories - size: {}, includeInactive: {}", size, includeInactive);
+
+        Sort sort = KeysetCursor.sort(sortBy, sortDirection, "displayOrder", Sort.Direction.ASC, CATEGORY_KEYSET_FIELDS);
+        ScrollPosition position = KeysetCursor.decode(cursor, sort, CATEGORY_KEYSET_FIELDS);
+        Limit limit = Limit.of(size != null && size > 0 ? Math.min(size, MAX_PAGE_SIZE) : DEFAULT_PAGE_SIZE);
+
+        Window<Category> window = Boolean.TRUE.equals(includeInactive)
+                ? categoryRepository.findAllBy(position, sort, limit)
+                : categoryRepository.findByActiveTrue(position, sort, limit);
+
+        List<CategoryResponse> content = fromTree(window.getContent());
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? KeysetCursor.encode((KeysetScrollPosition) window.positionAt(window.size() - 1), sort)
+                : null;
+
+        CursorPage<CategoryResponse> cursorPage = CursorPage.<CategoryResponse>builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(window.hasNext())
+                .nextCursor(nextCursor)
+                .build();
+        return buildSuccessResponse("Categories fetched successfully", cursorPage, HttpStatus.OK);
+    }
+
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public ResponseEntity<ResponseStructure<List<CategoryResponse>>> getRootCategories() {
         log.info("Fetching root categories");
 
-        List<Category> rootCategories = categoryRepository.findByParentCategoryIsNullAndActiveTrueOrderByDisplayOrderAsc();
-        List<CategoryResponse> responses = rootCategories.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        List<CategoryResponse> responses = categoryTree.current().roots();
 
         log.info("Found {} root categories", responses.size());
         return buildSuccessResponse("Root categories fetched successfully", responses, HttpStatus.OK);
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public ResponseEntity<ResponseStructure<List<CategoryResponse>>> getSubCategories(String parentCategoryId) {
         log.info("Fetching sub-categories for parent: {}", parentCategoryId);
 
-        List<Category> subCategories = categoryRepository.findByParentCategoryCategoryIdAndActiveTrue(parentCategoryId);
-        List<CategoryResponse> responses = subCategories.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        List<CategoryResponse> responses = categoryTree.current().children(parentCategoryId);
 
         log.info("Found {} sub-categories for parent: {}", responses.size(), parentCategoryId);
         return buildSuccessResponse("Sub-categories fetched successfully", responses, HttpStatus.OK);
@@ -219,9 +238,7 @@ public class CategoryService {
         }
 
         List<Category> categories = categoryRepository.findByNameContainingIgnoreCaseAndActiveTrue(query.trim());
-        List<CategoryResponse> responses = categories.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        List<CategoryResponse> responses = fromTree(categories);
 
         log.info("Found {} categories for query: '{}'", responses.size(), query);
         return buildSuccessResponse("Categories search completed", responses, HttpStatus.OK);
@@ -332,6 +349,7 @@ public class CategoryService {
 
             if (hasChanges) {
                 Category savedCategory = categoryRepository.save(category);
+                publishChange(ChangeType.UPDATED, categoryId);
                 log.info("Category updated successfully (ID: {}). {}", savedCategory.getCategoryId(),
                         changesLog.toString().replaceAll(", $", ""));
                 return buildSuccessResponse("Category updated successfully", mapToResponse(savedCategory), HttpStatus.OK);
@@ -371,6 +389,7 @@ public class CategoryService {
 
         category.setActive(false);
         categoryRepository.save(category);
+        publishChange(ChangeType.DELETED, categoryId);
 
         log.info("Category soft deleted successfully: {}", categoryId);
         return buildSuccessResponse("Category deleted successfully", null, HttpStatus.OK);
@@ -392,6 +411,7 @@ public class CategoryService {
         deleteCategoryImages(category);
 
         categoryRepository.delete(category);
+        publishChange(ChangeType.DELETED, categoryId);
 
         log.info("Category hard deleted successfully: {}", categoryId);
         return buildSuccessResponse("Category permanently deleted", null, HttpStatus.OK);
@@ -415,6 +435,7 @@ public class CategoryService {
             category.setThumbnailUrl(thumbnailResponse.getImageUrl());
 
             Category savedCategory = categoryRepository.save(category);
+            publishChange(ChangeType.UPDATED, categoryId);
             log.info("Thumbnail updated for category: {}", categoryId);
 
             return buildSuccessResponse("Thumbnail updated successfully", mapToResponse(savedCategory), HttpStatus.OK);
@@ -442,6 +463,7 @@ public class CategoryService {
             category.setBannerUrl(bannerResponse.getImageUrl());
 
             Category savedCategory = categoryRepository.save(category);
+            publishChange(ChangeType.UPDATED, categoryId);
             log.info("Banner updated for category: {}", categoryId);
 
             return buildSuccessResponse("Banner updated successfully", mapToResponse(savedCategory), HttpStatus.OK);
@@ -489,6 +511,10 @@ public class CategoryService {
                 .build();
     }
 
+    private void publishChange(ChangeType type, String categoryId) {
+        eventPublisher.publishEvent(new CategoryChangedEvent(type, categoryId));
+    }
+
     private boolean isCircularReference(Category category, Category potentialParent) {
         // Check if setting potentialParent as parent would create a circular reference
         Category current = potentialParent;
@@ -518,10 +544,14 @@ public class CategoryService {
         }
     }
 
-    private String generateCustomCategoryId() {
-        String prefix = "CAT";
-        String random = String.format("%05d", ThreadLocalRandom.current().nextInt(100000));
-        return prefix + random;
+    // Generated ids are unique among themselves; skip the rare clash with a legacy random id
+    private String nextFreeCategoryId() {
+        String categoryId = idGenerator.nextCategoryId();
+        while (categoryRepository.existsByCategoryId(categoryId)) {
+            log.warn("Generated category ID {} already taken, skipping", categoryId);
+            categoryId = idGenerator.nextCategoryId();
+        }
+        return categoryId;
     }
 
     private String generateSlug(String name) {
@@ -544,11 +574,19 @@ public class CategoryService {
         return PageRequest.of(pageNumber, pageSize, sort);
     }
 
-    private PagedResponse<CategoryResponse> convertToPagedResponse(Page<Category> categoriesPage) {
-        List<CategoryResponse> content = categoriesPage.getContent()
-                .stream()
-                .map(this::mapToResponse)
+    // Page rows come from the tree snapshot; a row it has not caught up with yet is mapped from the entity
+    private List<CategoryResponse> fromTree(List<Category> categories) {
+        CategoryTree.Snapshot tree = categoryTree.current();
+        return categories.stream()
+                .map(category -> {
+                    CategoryResponse response = tree.byCategoryId().get(category.getCategoryId());
+                    return response != null ? response : mapToResponse(category);
+                })
                 .collect(Collectors.toList());
+    }
+
+    private PagedResponse<CategoryResponse> convertToPagedResponse(Page<Category> categoriesPage) {
+        List<CategoryResponse> content = fromTree(categoriesPage.getContent());
 
         return PagedResponse.<CategoryResponse>builder()
                 .content(content)
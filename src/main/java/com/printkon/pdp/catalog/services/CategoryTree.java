@@ -0,0 +1,245 @@
+package com.printkon.pdp.catalog.services;
+
+import com.printkon.pdp.catalog.dto.CategoryResponse;
+import com.printkon.pdp.catalog.events.CategoryChangedEvent;
+import com.printkon.pdp.catalog.events.ProductChangedEvent;
+import com.printkon.pdp.catalog.repositories.CategoryRepository;
+import com.printkon.pdp.catalog.repositories.ProductRepository;
+import com.printkon.pdp.common.cache.EncodedResponseCache;
+import com.printkon.pdp.common.cache.EncodedResponseCache.Group;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable snapshot of the whole category hierarchy with available product
+ * counts, indexed by category id, slug and parent. Readers only dereference a
+ * volatile field; every rebuild creates a new snapshot and swaps it in whole.
+ *
+ * <p>
+ * Loaded on first use and rebuilt after each committed category change.
+ * Product writes only mark the counts stale, so a burst of them costs a single
+ * recount on the next refresh tick. Each tick also compares a fingerprint of
+ * the (small) category table with the one the snapshot was built from, so
+ * category edits committed on other nodes are picked up within a tick; count
+ * changes made on other nodes wait for the periodic resync. The snapshot
+ * version, behind the category validators, combines that fingerprint with a
+ * digest of the loaded counts, so it is the same on every node for the same
+ * data.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CategoryTree {
+
+	// Sibling order of roots, subcategories and the active list
+	private static final Comparator<Row> DISPLAY_ORDER = Comparator.comparingInt(Row::displayOrder)
+			.thenComparing(Row::id);
+
+	/**
+	 * Read-only view of the hierarchy. Responses are shared between callers
+	 * and must not be modified.
+	 */
+	public record Snapshot(List<CategoryResponse> all, List<CategoryResponse> active, List<CategoryResponse> roots,
+			Map<String, CategoryResponse> byCategoryId, Map<String, CategoryResponse> bySlug,
+			Map<String, List<CategoryResponse>> childrenByParent, String version, long lastModified) {
+
+		public Optional<CategoryResponse> activeById(String categoryId) {
+			return Optional.ofNullable(byCategoryId.get(categoryId)).filter(CategoryResponse::getActive);
+		}
+
+		public Optional<CategoryResponse> activeBySlug(String slug) {
+			return Optional.ofNullable(bySlug.get(slug)).filter(CategoryResponse::getActive);
+		}
+
+		// Active children, including those of an inactive parent
+		public List<CategoryResponse> children(String parentCategoryId) {
+			return childrenByParent.getOrDefault(parentCategoryId, List.of());
+		}
+	}
+
+	private record Row(Long id, String categoryId, String name, String slug, String description, String thumbnailUrl,
+			String bannerUrl, boolean active, int displayOrder, Long parentId, LocalDateTime createdAt) {
+	}
+
+	private record Fingerprint(long count, long lastModified) {
+	}
+
+	private record Counts(Map<String, Long> byCategoryId, long total, long lastModified) {
+	}
+
+	private final CategoryRepository categoryRepository;
+	private final ProductRepository productRepository;
+	private final EncodedResponseCache responseCache;
+
+	private volatile Snapshot snapshot;
+	private volatile Fingerprint builtFrom;
+	private volatile boolean countsStale;
+
+	public Snapshot current() {
+		Snapshot current = snapshot;
+		return current != null ? current : reload();
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCategoryChanged(CategoryChangedEvent event) {
+		reload();
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductChanged(ProductChangedEvent event) {
+		// Counts are of available products; stock movements do not change them
+		if (event.type() != ProductChangedEvent.ChangeType.STOCK) {
+			countsStale = true;
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${app.catalog.cache.category-tree-refresh:PT5S}")
+	public void refresh() {
+		Snapshot current = snapshot;
+		if (current != null && (countsStale || !fingerprint().equals(builtFrom))) {
+			reload();
+		}
+	}
+
+	@Scheduled(initialDelayString = "${app.catalog.cache.category-tree-resync:PT10M}",
+			fixedDelayString = "${app.catalog.cache.category-tree-resync:PT10M}")
+	public void resync() {
+		if (snapshot != null) {
+			reload();
+		}
+	}
+
+	// ------------------ PRIVATE HELPER METHODS ------------------
+
+	// Serialized so an older build can never replace a newer one
+	private synchronized Snapshot reload() {
+		long start = System.currentTimeMillis();
+		countsStale = false;
+		// Taken first: a write racing the load changes it again and triggers another rebuild
+		Fingerprint fingerprint = fingerprint();
+		Snapshot previous = snapshot;
+		Snapshot built = build(loadRows(), loadCounts(), fingerprint);
+		snapshot = built;
+		builtFrom = fingerprint;
+		if (previous != null && !previous.version().equals(built.version())) {
+			// Encoded bodies were rendered from the old snapshot, possibly after the event that invalidated them
+			responseCache.invalidate(Group.CATEGORIES);
+			responseCache.invalidate(Group.PRODUCT_LISTS);
+		}
+		log.debug("Category tree rebuilt with {} categories in {} ms", built.all().size(),
+				System.currentTimeMillis() - start);
+		return built;
+	}
+
+	// row: id, categoryId, name, slug, description, thumbnailUrl, bannerUrl, active, displayOrder, parent id,
+	// createdAt
+	private List<Row> loadRows() {
+		List<Row> rows = new ArrayList<>();
+		for (Object[] row : categoryRepository.findTreeRows()) {
+			rows.add(new Row((Long) row[0], (String) row[1], (String) row[2], (String) row[3], (String) row[4],
+					(String) row[5], (String) row[6], Boolean.TRUE.equals(row[7]),
+					row[8] != null ? ((Number) row[8]).intValue() : 0, (Long) row[9], (LocalDateTime) row[10]));
+		}
+		rows.sort(Comparator.comparing(Row::id));
+		return rows;
+	}
+
+	// row: categoryId, available product count, latest update among them
+	private Counts loadCounts() {
+		Map<String, Long> counts = new HashMap<>();
+		long total = 0;
+		long lastModified = 0;
+		for (Object[] row : productRepository.countAvailableByCategory()) {
+			long count = ((Number) row[1]).longValue();
+			counts.put((String) row[0], count);
+			total += count;
+			lastModified = Math.max(lastModified, CatalogEpoch.toMillis((LocalDateTime) row[2]));
+		}
+		return new Counts(counts, total, lastModified);
+	}
+
+	// Polled every tick, so only the category table: row: category count, latest update
+	private Fingerprint fingerprint() {
+		Object[] categories = categoryRepository.fingerprint().get(0);
+		return new Fingerprint(((Number) categories[0]).longValue(),
+				CatalogEpoch.toMillis((LocalDateTime) categories[1]));
+	}
+
+	private static Snapshot build(List<Row> rows, Counts loaded, Fingerprint fingerprint) {
+		Map<String, Long> counts = loaded.byCategoryId();
+		Map<Long, Row> byId = new HashMap<>();
+		Map<Long, List<Row>> activeChildren = new HashMap<>();
+		for (Row row : rows) {
+			byId.put(row.id(), row);
+			if (row.active() && row.parentId() != null) {
+				activeChildren.computeIfAbsent(row.parentId(), id -> new ArrayList<>()).add(row);
+			}
+		}
+		activeChildren.values().forEach(children -> children.sort(DISPLAY_ORDER));
+
+		Map<Long, CategoryResponse> responses = new HashMap<>();
+		for (Row row : rows) {
+			toResponse(row, byId, activeChildren, counts, responses);
+		}
+
+		Map<String, CategoryResponse> byCategoryId = new HashMap<>();
+		Map<String, CategoryResponse> bySlug = new HashMap<>();
+		Map<String, List<CategoryResponse>> childrenByParent = new HashMap<>();
+		List<CategoryResponse> all = new ArrayList<>(rows.size());
+		for (Row row : rows) {
+			CategoryResponse response = responses.get(row.id());
+			all.add(response);
+			byCategoryId.put(row.categoryId(), response);
+			bySlug.put(row.slug(), response);
+			childrenByParent.put(row.categoryId(), response.getSubCategories());
+		}
+
+		List<CategoryResponse> active = rows.stream().filter(Row::active).sorted(DISPLAY_ORDER)
+				.map(row -> responses.get(row.id())).toList();
+		List<CategoryResponse> roots = rows.stream().filter(row -> row.active() && row.parentId() == null)
+				.sorted(DISPLAY_ORDER).map(row -> responses.get(row.id())).toList();
+
+		return new Snapshot(List.copyOf(all), active, roots, Map.copyOf(byCategoryId), Map.copyOf(bySlug),
+				Map.copyOf(childrenByParent), version(fingerprint, loaded),
+				Math.max(fingerprint.lastModified(), loaded.lastModified()));
+	}
+
+	// Map hash codes of String and Long keys/values are stable, so every node derives the same version
+	private static String version(Fingerprint fingerprint, Counts counts) {
+		return CatalogEpoch.version(fingerprint.count(), fingerprint.lastModified(), counts.total(),
+				Integer.toUnsignedLong(counts.byCategoryId().hashCode()));
+	}
+
+	// Children first, so each response embeds its finished subtree; the service rules out cycles
+	private static CategoryResponse toResponse(Row row, Map<Long, Row> byId, Map<Long, List<Row>> activeChildren,
+			Map<String, Long> counts, Map<Long, CategoryResponse> responses) {
+		CategoryResponse existing = responses.get(row.id());
+		if (existing != null) {
+			return existing;
+		}
+		List<CategoryResponse> subCategories = activeChildren.getOrDefault(row.id(), List.of()).stream()
+				.map(child -> toResponse(child, byId, activeChildren, counts, responses)).toList();
+		Row parent = row.parentId() != null ? byId.get(row.parentId()) : null;
+
+		CategoryResponse response = CategoryResponse.builder().categoryId(row.categoryId()).name(row.name())
+				.slug(row.slug()).description(row.description()).thumbnailUrl(row.thumbnailUrl())
+				.bannerUrl(row.bannerUrl()).active(row.active()).displayOrder(row.displayOrder())
+				.productCount(counts.getOrDefault(row.categoryId(), 0L))
+				.parentCategoryId(parent != null ? parent.categoryId() : null).subCategories(subCategories)
+				.createdAt(row.createdAt()).build();
+		responses.put(row.id(), response);
+		return response;
+	}
+}
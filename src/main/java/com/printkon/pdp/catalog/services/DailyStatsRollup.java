@@ -0,0 +1,123 @@
+package com.printkon.pdp.catalog.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Adds activity to the per-day rows of {@code product_daily_stats}: the
+ * existing rows are selected, then one batched UPDATE for those and one
+ * batched INSERT for the rest.
+ * Always runs in a transaction of its own, so it also works from
+ * after-commit listeners.
+ */
+@Slf4j
+@Component
+public class DailyStatsRollup {
+
+	public record Activity(Long productId, long views, long wishlistAdds, long salesQuantity, BigDecimal revenue) {
+
+		public static Activity sale(Long productId, long quantity, BigDecimal revenue) {
+			return new Activity(productId, 0, 0, quantity, revenue);
+		}
+
+		Activity plus(Activity other) {
+			return new Activity(productId, views + other.views, wishlistAdds + other.wishlistAdds,
+					salesQuantity + other.salesQuantity, revenueOrZero(this).add(revenueOrZero(other)));
+		}
+	}
+
+	private static final String UPDATE_SQL = "UPDATE product_daily_stats SET views = views + ?, "
+			+ "wishlist_adds = wishlist_adds + ?, sales_quantity = sales_quantity + ?, revenue = revenue + ? "
+			+ "WHERE product_id = ? AND stat_date = ?";
+	private static final String INSERT_SQL = "INSERT INTO product_daily_stats "
+			+ "(product_id, stat_date, views, wishlist_adds, sales_quantity, revenue) VALUES (?, ?, ?, ?, ?, ?)";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+
+	public DailyStatsRollup(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+	}
+
+	public void add(LocalDate date, List<Activity> lines) {
+		if (lines.isEmpty()) {
+			return;
+		}
+		// One row per product, or the inserts would collide with each other
+		Map<Long, Activity> merged = new LinkedHashMap<>();
+		lines.forEach(line -> merged.merge(line.productId(), line, Activity::plus));
+		List<Activity> activity = new ArrayList<>(merged.values());
+		try {
+			transactionTemplate.executeWithoutResult(status -> write(date, activity));
+		} catch (DuplicateKeyException e) {
+			// Another writer inserted one of the day's rows first; now they all exist
+			log.debug("Daily stats row created concurrently, retrying as update");
+			transactionTemplate.executeWithoutResult(status -> write(date, activity));
+		}
+	}
+
+	// ------------------ PRIVATE HELPER METHODS ------------------
+
+	// Existing rows are looked up first: drivers may answer the UPDATE batch with SUCCESS_NO_INFO, which
+	// would hide the rows it did not find
+	private void write(LocalDate date, List<Activity> activity) {
+		Date day = Date.valueOf(date);
+		Set<Long> existing = existingRows(day, activity);
+		List<Activity> updates = new ArrayList<>(activity.size());
+		List<Activity> missing = new ArrayList<>();
+		activity.forEach(row -> (existing.contains(row.productId()) ? updates : missing).add(row));
+
+		if (!updates.isEmpty()) {
+			jdbcTemplate.batchUpdate(UPDATE_SQL, updates, updates.size(), (ps, row) -> {
+				ps.setLong(1, row.views());
+				ps.setLong(2, row.wishlistAdds());
+				ps.setLong(3, row.salesQuantity());
+				ps.setBigDecimal(4, revenueOrZero(row));
+				ps.setLong(5, row.productId());
+				ps.setDate(6, day);
+			});
+		}
+
+		if (!missing.isEmpty()) {
+			jdbcTemplate.batchUpdate(INSERT_SQL, missing, missing.size(), (ps, row) -> {
+				ps.setLong(1, row.productId());
+				ps.setDate(2, day);
+				ps.setLong(3, row.views());
+				ps.setLong(4, row.wishlistAdds());
+				ps.setLong(5, row.salesQuantity());
+				ps.setBigDecimal(6, revenueOrZero(row));
+			});
+		}
+	}
+
+	private Set<Long> existingRows(Date day, List<Activity> activity) {
+		String sql = "SELECT product_id FROM product_daily_stats WHERE stat_date = ? AND product_id IN ("
+				+ String.join(", ", Collections.nCopies(activity.size(), "?")) + ")";
+		List<Object> args = new ArrayList<>(activity.size() + 1);
+		args.add(day);
+		activity.forEach(row -> args.add(row.productId()));
+		return new HashSet<>(jdbcTemplate.queryForList(sql, Long.class, args.toArray()));
+	}
+
+	private static BigDecimal revenueOrZero(Activity row) {
+		return row.revenue() != null ? row.revenue() : BigDecimal.ZERO;
+	}
+}
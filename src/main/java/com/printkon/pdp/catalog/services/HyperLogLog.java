@@ -0,0 +1,137 @@
+package com.printkon.pdp.catalog.services;
+
+import java.nio.ByteBuffer;
+
+/**
+ * HyperLogLog sketch of distinct 64-bit hashes: 2^11 registers, about 2.3%
+ * standard error at any cardinality. Merging takes the register-wise maximum,
+ * so sketches from different nodes or flushes combine without double counting
+ * and re-merging the same sketch is harmless.
+ *
+ * <p>
+ * Serialized form starts with a format byte. Sparse sketches store
+ * (index, rank) pairs of their non-zero registers, 3 bytes each; once that
+ * stops being smaller the registers are packed at 6 bits, 1,537 bytes in all.
+ *
+ * <p>
+ * {@link #offer} does not lock: two threads raising the same register at once
+ * can lose the smaller rank, which only ever lowers the estimate marginally.
+ */
+final class HyperLogLog {
+
+	private static final int PRECISION = 11;
+	private static final int REGISTERS = 1 << PRECISION;
+	private static final int BITS_PER_REGISTER = 6;
+
+	static final int MAX_SERIALIZED_BYTES = 1 + REGISTERS * BITS_PER_REGISTER / Byte.SIZE;
+
+	private static final byte SPARSE = 0;
+	private static final byte DENSE = 1;
+	private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+
+	private final byte[] registers = new byte[REGISTERS];
+	private volatile boolean dirty;
+
+	void offer(long hash) {
+		int index = (int) (hash >>> (Long.SIZE - PRECISION));
+		// The guard bit caps the rank at 64 - PRECISION + 1
+		byte rank = (byte) (Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1);
+		if (rank > registers[index]) {
+			registers[index] = rank;
+			dirty = true;
+		}
+	}
+
+	void merge(HyperLogLog other) {
+		for (int i = 0; i < REGISTERS; i++) {
+			if (other.registers[i] > registers[i]) {
+				registers[i] = other.registers[i];
+			}
+		}
+	}
+
+	long estimate() {
+		double sum = 0;
+		int zeros = 0;
+		for (byte rank : registers) {
+			sum += 1.0 / (1L << rank);
+			if (rank == 0) {
+				zeros++;
+			}
+		}
+		double raw = ALPHA * REGISTERS * REGISTERS / sum;
+		// Linear counting is more accurate while many registers are still empty
+		if (raw <= 2.5 * REGISTERS && zeros > 0) {
+			return Math.round(REGISTERS * Math.log((double) REGISTERS / zeros));
+		}
+		return Math.round(raw);
+	}
+
+	/**
+	 * Serialized snapshot if a register was raised since the last call, else
+	 * null.
+	 */
+	byte[] drainIfDirty() {
+		if (!dirty) {
+			return null;
+		}
+		dirty = false;
+		return toBytes();
+	}
+
+	void markDirty() {
+		dirty = true;
+	}
+
+	byte[] toBytes() {
+		int used = 0;
+		for (byte rank : registers) {
+			if (rank != 0) {
+				used++;
+			}
+		}
+
+		if (1 + used * 3 < MAX_SERIALIZED_BYTES) {
+			ByteBuffer buffer = ByteBuffer.allocate(1 + used * 3).put(SPARSE);
+			for (int i = 0; i < REGISTERS; i++) {
+				if (registers[i] != 0) {
+					buffer.putShort((short) i).put(registers[i]);
+				}
+			}
+			return buffer.array();
+		}
+
+		byte[] bytes = new byte[MAX_SERIALIZED_BYTES];
+		bytes[0] = DENSE;
+		for (int i = 0; i < REGISTERS; i++) {
+			int bit = i * BITS_PER_REGISTER;
+			int packed = (registers[i] & 0x3F) << (16 - BITS_PER_REGISTER - bit % 8);
+			bytes[1 + bit / 8] |= (byte) (packed >>> 8);
+			if (2 + bit / 8 < bytes.length) {
+				bytes[2 + bit / 8] |= (byte) packed;
+			}
+		}
+		return bytes;
+	}
+
+	static HyperLogLog fromBytes(byte[] bytes) {
+		HyperLogLog sketch = new HyperLogLog();
+		if (bytes == null || bytes.length == 0) {
+			return sketch;
+		}
+		if (bytes[0] == SPARSE) {
+			ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, bytes.length - 1);
+			while (buffer.remaining() >= 3) {
+				sketch.registers[buffer.getShort() & (REGISTERS - 1)] = buffer.get();
+			}
+			return sketch;
+		}
+		for (int i = 0; i < REGISTERS; i++) {
+			int bit = i * BITS_PER_REGISTER;
+			int next = 2 + bit / 8 < bytes.length ? bytes[2 + bit / 8] & 0xFF : 0;
+			int packed = (bytes[1 + bit / 8] & 0xFF) << 8 | next;
+			sketch.registers[i] = (byte) ((packed >>> (16 - BITS_PER_REGISTER - bit % 8)) & 0x3F);
+		}
+		return sketch;
+	}
+}
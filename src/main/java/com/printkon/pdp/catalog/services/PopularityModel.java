@@ -0,0 +1,49 @@
+package com.printkon.pdp.catalog.services;
+
+import com.printkon.pdp.catalog.repositories.ProductStatsRepository;
+import com.printkon.pdp.config.PopularityProperties;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * The single definition of product popularity, a weighted sum of lifetime
+ * sales, views and wishlist adds. The score is stored in
+ * {@code product_stats.popularity_score} by every stats write path so that
+ * "top N by popularity" reads the index instead of sorting an expression.
+ * Rows scored with other weights are rescored at startup.
+ */
+@Slf4j
+@Component
+public class PopularityModel implements ApplicationRunner {
+
+	@Getter
+	private final double salesWeight;
+	@Getter
+	private final double viewsWeight;
+	@Getter
+	private final double wishlistWeight;
+	private final ProductStatsRepository statsRepository;
+
+	public PopularityModel(PopularityProperties properties, ProductStatsRepository statsRepository) {
+		this.salesWeight = properties.getSalesWeight();
+		this.viewsWeight = properties.getViewsWeight();
+		this.wishlistWeight = properties.getWishlistWeight();
+		this.statsRepository = statsRepository;
+	}
+
+	public double score(long sales, long views, long wishlist) {
+		return sales * salesWeight + views * viewsWeight + wishlist * wishlistWeight;
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		int rescored = statsRepository.recomputePopularityScores(salesWeight, viewsWeight, wishlistWeight);
+		if (rescored > 0) {
+			log.info("Rescored popularity of {} products", rescored);
+		}
+	}
+}
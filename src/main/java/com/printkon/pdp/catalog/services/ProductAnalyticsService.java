@@ -0,0 +1,128 @@
+package com.printkon.pdp.catalog.services;
+
+import com.printkon.pdp.catalog.dto.DailyAnalyticsResponse;
+import com.printkon.pdp.catalog.dto.DailyStatsPoint;
+import com.printkon.pdp.catalog.models.Product;
+import com.printkon.pdp.catalog.models.ProductDailyStats;
+import com.printkon.pdp.catalog.repositories.ProductDailyStatsRepository;
+import com.printkon.pdp.catalog.repositories.ProductRepository;
+import com.printkon.pdp.common.dto.ResponseStructure;
+import com.printkon.pdp.exceptions.BusinessRuleException;
+import com.printkon.pdp.exceptions.ResourceNotFoundException;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Date-range analytics read from the {@code product_daily_stats} rollup, so a
+ * 90-day chart is one indexed range scan.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ProductAnalyticsService {
+
+	private static final int DEFAULT_RANGE_DAYS = 30;
+	private static final int MAX_RANGE_DAYS = 366;
+
+	private final ProductRepository productRepository;
+	private final ProductDailyStatsRepository dailyStatsRepository;
+
+	public ResponseEntity<ResponseStructure<DailyAnalyticsResponse>> getProductDailyAnalytics(String productId,
+			LocalDate from, LocalDate to) {
+		LocalDate end = to != null ? to : LocalDate.now();
+		LocalDate start = from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS - 1);
+		validateRange(start, end);
+		log.info("Fetching daily analytics for product {} from {} to {}", productId, start, end);
+
+		Product product = productRepository.findByProductId(productId)
+				.orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + productId));
+
+		Map<LocalDate, DailyStatsPoint> points = new HashMap<>();
+		for (ProductDailyStats row : dailyStatsRepository.findByProductIdAndStatDateBetweenOrderByStatDate(
+				product.getId(), start, end)) {
+			points.put(row.getStatDate(), DailyStatsPoint.builder().date(row.getStatDate()).views(row.getViews())
+					.wishlistAdds(row.getWishlistAdds()).salesQuantity(row.getSalesQuantity())
+					.revenue(row.getRevenue()).build());
+		}
+
+		return buildSuccessResponse("Product daily analytics fetched", toResponse(productId, start, end, points));
+	}
+
+	public ResponseEntity<ResponseStructure<DailyAnalyticsResponse>> getCatalogDailyAnalytics(LocalDate from,
+			LocalDate to) {
+		LocalDate end = to != null ? to : LocalDate.now();
+		LocalDate start = from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS - 1);
+		validateRange(start, end);
+		log.info("Fetching catalog daily analytics from {} to {}", start, end);
+
+		// row: statDate, views, wishlistAdds, salesQuantity, revenue
+		Map<LocalDate, DailyStatsPoint> points = new HashMap<>();
+		for (Object[] row : dailyStatsRepository.sumByDateBetween(start, end)) {
+			LocalDate date = (LocalDate) row[0];
+			points.put(date, DailyStatsPoint.builder().date(date).views(count(row[1])).wishlistAdds(count(row[2]))
+					.salesQuantity(count(row[3])).revenue(row[4] != null ? (BigDecimal) row[4] : BigDecimal.ZERO)
+					.build());
+		}
+
+		return buildSuccessResponse("Catalog daily analytics fetched", toResponse(null, start, end, points));
+	}
+
+	// ------------------ PRIVATE HELPER METHODS ------------------
+
+	private void validateRange(LocalDate from, LocalDate to) {
+		if (from.isAfter(to)) {
+			throw new BusinessRuleException("'from' must not be after 'to'");
+		}
+		if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+			throw new BusinessRuleException("Date range cannot exceed " + MAX_RANGE_DAYS + " days");
+		}
+	}
+
+	private DailyAnalyticsResponse toResponse(String productId, LocalDate from, LocalDate to,
+			Map<LocalDate, DailyStatsPoint> points) {
+		List<DailyStatsPoint> days = new ArrayList<>();
+		long views = 0;
+		long wishlistAdds = 0;
+		long sales = 0;
+		BigDecimal revenue = BigDecimal.ZERO;
+
+		for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+			DailyStatsPoint point = points.getOrDefault(date, DailyStatsPoint.builder().date(date).views(0L)
+					.wishlistAdds(0L).salesQuantity(0L).revenue(BigDecimal.ZERO).build());
+			days.add(point);
+			views += point.getViews();
+			wishlistAdds += point.getWishlistAdds();
+			sales += point.getSalesQuantity();
+			revenue = revenue.add(point.getRevenue());
+		}
+
+		return DailyAnalyticsResponse.builder().productId(productId).from(from).to(to).totalViews(views)
+				.totalWishlistAdds(wishlistAdds).totalSalesQuantity(sales).totalRevenue(revenue)
+				.conversionRate(views > 0 ? (double) sales / views : 0.0).days(days).build();
+	}
+
+	private static long count(Object value) {
+		return value != null ? ((Number) value).longValue() : 0L;
+	}
+
+	private <T> ResponseEntity<ResponseStructure<T>> buildSuccessResponse(String message, T data) {
+		ResponseStructure<T> structure = ResponseStructure.<T>builder().statusCode(HttpStatus.OK.value())
+				.message(message).data(data).timestamp(LocalDateTime.now()).build();
+		return ResponseEntity.ok(structure);
+	}
+}
@@ -0,0 +1,81 @@
+package com.printkon.pdp.catalog.services;
+
+import com.printkon.pdp.catalog.dto.ProductResponse;
+import com.printkon.pdp.catalog.events.CategoryChangedEvent;
+import com.printkon.pdp.catalog.events.ProductChangedEvent;
+import com.printkon.pdp.common.cache.ExpiringLruCache;
+import com.printkon.pdp.common.dto.CacheStatsResponse;
+import com.printkon.pdp.config.CatalogCacheProperties;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Optional;
+
+/**
+ * Read cache for fully mapped product detail responses, keyed by the public
+ * productId. Entries are dropped after the writing transaction commits, and a
+ * newer entity version always wins over an older one.
+ */
+@Slf4j
+@Component
+public class ProductCache {
+
+	public record CachedProduct(Long id, Long version, ProductResponse response) {
+	}
+
+	private final boolean enabled;
+	private final ExpiringLruCache<String, CachedProduct> cache;
+
+	public ProductCache(CatalogCacheProperties properties) {
+		this.enabled = properties.isEnabled();
+		this.cache = new ExpiringLruCache<>("products", properties.getProductMaxSize(), properties.getProductTtl(),
+				(candidate, existing) -> candidate.version() == null || existing.version() == null
+						|| candidate.version() >= existing.version());
+	}
+
+	public Optional<CachedProduct> get(String productId) {
+		if (!enabled) {
+			return Optional.empty();
+		}
+		return Optional.ofNullable(cache.get(productId));
+	}
+
+	/**
+	 * Generation to capture before reading the product from the database.
+	 */
+	public long generation() {
+		return cache.generation();
+	}
+
+	public void put(CachedProduct product, long loadedAt) {
+		if (enabled) {
+			cache.put(product.response().getProductId(), product, loadedAt);
+		}
+	}
+
+	public void evict(String productId) {
+		cache.invalidate(productId);
+	}
+
+	public void evictAll() {
+		cache.invalidateAll();
+	}
+
+	public CacheStatsResponse stats() {
+		return cache.stats();
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductChanged(ProductChangedEvent event) {
+		cache.invalidateAll(event.productIds());
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCategoryChanged(CategoryChangedEvent event) {
+		// Product responses embed the category name, so any category edit may make them stale
+		log.debug("Category {} changed ({}), clearing product cache", event.categoryId(), event.type());
+		cache.invalidateAll();
+	}
+}
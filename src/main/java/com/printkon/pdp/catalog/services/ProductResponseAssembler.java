@@ -0,0 +1,130 @@
+package com.printkon.pdp.catalog.services;
+
+import com.printkon.pdp.catalog.dto.ProductResponse;
+import com.printkon.pdp.catalog.dto.ProductStatsResponse;
+import com.printkon.pdp.catalog.models.Category;
+import com.printkon.pdp.catalog.models.Product;
+import com.printkon.pdp.catalog.models.ProductStats;
+import com.printkon.pdp.catalog.repositories.ProductRepository;
+import com.printkon.pdp.catalog.repositories.ProductStatsRepository;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Builds {@link ProductResponse}s for whole pages at once. Stats, categories and
+ * image lists are loaded with one IN-query each instead of one lookup per
+ * product, so the cost of a page no longer grows with its size.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductResponseAssembler {
+
+	private final ProductRepository productRepository;
+	private final ProductStatsRepository productStatsRepository;
+
+	/**
+	 * Single-product mapping, used after writes where the entity is already fully
+	 * loaded in the current session.
+	 */
+	public ProductResponse toResponse(Product product) {
+		ProductStats stats = productStatsRepository.findByProductId(product.getId()).orElse(null);
+		return buildResponse(product, product.getCategory(), product.getImageUrls(), stats);
+	}
+
+	/**
+	 * Maps a page of products in a constant number of queries, preserving the
+	 * order of the input list.
+	 */
+	public List<ProductResponse> toResponses(List<Product> products) {
+		if (products == null || products.isEmpty()) {
+			return new ArrayList<>();
+		}
+
+		Set<Long> ids = products.stream().map(Product::getId).collect(Collectors.toCollection(LinkedHashSet::new));
+
+		Map<Long, ProductStats> statsByProduct = productStatsRepository.findByProductIdIn(ids).stream()
+				.collect(Collectors.toMap(ProductStats::getProductId, s -> s, (a, b) -> a));
+		Map<Long, Category> categoryByProduct = loadCategories(products);
+		Map<Long, List<String>> imagesByProduct = loadImageUrls(products);
+
+		return products.stream()
+				.map(product -> buildResponse(product, categoryByProduct.get(product.getId()),
+						imagesByProduct.getOrDefault(product.getId(), new ArrayList<>()),
+						statsByProduct.get(product.getId())))
+				.collect(Collectors.toList());
+	}
+
+	public ProductStatsResponse toStatsResponse(ProductStats stat) {
+		if (stat == null) {
+			return null;
+		}
+		return ProductStatsResponse.builder().salesCount(stat.getSalesCount()).viewsCount(stat.getViewsCount())
+				.wishlistCount(stat.getWishlistCount()).reviewCount(stat.getReviewCount())
+				.averageRating(stat.getAverageRating()).popularityScore(stat.getPopularityScore())
+				.lastUpdated(stat.getLastUpdated()).build();
+	}
+
+	// ------------------ PRIVATE HELPER METHODS ------------------
+
+	private Map<Long, Category> loadCategories(List<Product> products) {
+		Map<Long, Category> result = new HashMap<>();
+		List<Long> missing = new ArrayList<>();
+
+		for (Product product : products) {
+			if (Hibernate.isInitialized(product.getCategory())) {
+				result.put(product.getId(), product.getCategory());
+			} else {
+				missing.add(product.getId());
+			}
+		}
+
+		if (!missing.isEmpty()) {
+			for (Object[] row : productRepository.findCategoriesByProductIds(missing)) {
+				result.put((Long) row[0], (Category) row[1]);
+			}
+		}
+		return result;
+	}
+
+	private Map<Long, List<String>> loadImageUrls(List<Product> products) {
+		Map<Long, List<String>> result = new HashMap<>();
+		List<Long> missing = new ArrayList<>();
+
+		for (Product product : products) {
+			if (Hibernate.isInitialized(product.getImageUrls())) {
+				result.put(product.getId(), new ArrayList<>(product.getImageUrls()));
+			} else {
+				missing.add(product.getId());
+			}
+		}
+
+		if (!missing.isEmpty()) {
+			for (Object[] row : productRepository.findImageUrlsByProductIds(missing)) {
+				result.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+			}
+		}
+		return result;
+	}
+
+	private ProductResponse buildResponse(Product product, Category category, List<String> imageUrls,
+			ProductStats stats) {
+		return ProductResponse.builder().productId(product.getProductId()).name(product.getName())
+				.description(product.getDescription()).price(product.getPrice()).available(product.getAvailable())
+				.stockQuantity(product.getStockQuantity()).sku(product.getSku())
+				.categoryName(category != null ? category.getName() : null)
+				.categoryId(category != null ? category.getCategoryId() : null).imageUrls(imageUrls)
+				.mainImageUrl(product.getMainImageUrl()).createdAt(product.getCreatedAt())
+				.updatedAt(product.getUpdatedAt()).inStock(product.isInStock()).isPopular(product.getIsPopular())
+				.isForceTrending(product.getIsForceTrending()).stats(toStatsResponse(stats)).build();
+	}
+}
@@ -1,43 +1,70 @@
 package com.printkon.pdp.catalog.services;
 
 import com.printkon.pdp.catalog.dto.*;
+import com.printkon.pdp.catalog.events.ProductChangedEvent;
+import com.printkon.pdp.catalog.events.ProductChangedEvent.ChangeType;
 import com.printkon.pdp.catalog.models.Category;
 import com.printkon.pdp.catalog.models.Product;
 import com.printkon.pdp.catalog.models.ProductStats;
 import com.printkon.pdp.catalog.repositories.CategoryRepository;
 import com.printkon.pdp.catalog.repositories.ProductRepository;
 import com.printkon.pdp.catalog.repositories.ProductStatsRepository;
+import com.printkon.pdp.catalog.search.AutocompleteIndex;
+import com.printkon.pdp.catalog.search.ProductSearchIndex;
 import com.printkon.pdp.catalog.specifications.ProductSpecifications;
+import com.printkon.pdp.common.dto.CacheStatsResponse;
+import com.printkon.pdp.common.dto.CursorPage;
 import com.printkon.pdp.common.dto.PagedResponse;
 import com.printkon.pdp.common.dto.ResponseStructure;
+import com.printkon.pdp.common.enums.TrendingWindow;
+import com.printkon.pdp.common.ids.IdGenerator;
+import com.printkon.pdp.common.utils.KeysetCursor;
+import com.printkon.pdp.common.utils.RequestUtils;
+import com.printkon.pdp.config.CatalogSearchProperties;
 import com.printkon.pdp.exceptions.BusinessRuleException;
 import com.printkon.pdp.exceptions.ResourceNotFoundException;
 import com.printkon.pdp.storage.StorageService;
 import com.printkon.pdp.storage.dto.ImageUploadResponse;
+import com.printkon.pdp.user.UserDetailsImpl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.multipart.MultipartFile;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -51,9 +78,24 @@ public class ProductService {
 	private final CategoryRepository categoryRepository;
 	private final ProductStatsRepository productStatsRepository;
 	private final ProductStatsService productStatsService;
+	private final ProductStatsCounters statsCounters;
 	private final StorageService storageService;
-
-	private static final int MAX_ID_GENERATION_ATTEMPTS = 5;
+	private final ProductResponseAssembler productResponseAssembler;
+	private final ProductCache productCache;
+	private final ProductSummaryCache productSummaryCache;
+	private final ApplicationEventPublisher eventPublisher;
+	private final ProductSearchIndex searchIndex;
+	private final AutocompleteIndex autocompleteIndex;
+	private final StockLevelView stockLevelView;
+	private final CatalogSearchProperties searchProperties;
+	private final IdGenerator idGenerator;
+	private final CatalogEpoch catalogEpoch;
+
+	private static final int MAX_BATCH_IDS = 100;
+
+	// Columns usable as keyset sort keys (non-null, plus the id tie-breaker)
+	private static final Map<String, Class<?>> PRODUCT_KEYSET_FIELDS = Map.of("createdAt", LocalDateTime.class,
+			"price", BigDecimal.class, "name", String.class, "id", Long.class);
 
 	// ------------------ CREATE OPERATIONS ------------------
 
@@ -64,45 +106,45 @@ public class ProductService {
 				() -> new ResourceNotFoundException("Category not found with ID: " + request.getCategoryId()));
 
 		Product product = mapToProduct(request, category);
+		product.setProductId(nextFreeProductId());
 
-		for (int attempt = 0; attempt < MAX_ID_GENERATION_ATTEMPTS; attempt++) {
-			try {
-				Product savedProduct = productRepository.save(product);
-				productStatsService.ensureStatsForProduct(savedProduct);
-
-				log.info("Product created successfully with internal ID: {} and productId: {}", savedProduct.getId(),
-						savedProduct.getProductId());
+		Product savedProduct = productRepository.save(product);
+		productStatsService.ensureStatsForProduct(savedProduct);
+		publishChange(ChangeType.CREATED, savedProduct.getProductId());
 
-				return buildSuccessResponse("Product created successfully", mapToResponse(savedProduct),
-						HttpStatus.CREATED);
+		log.info("Product created successfully with internal ID: {} and productId: {}", savedProduct.getId(),
+				savedProduct.getProductId());
 
-			} catch (org.springframework.dao.DataIntegrityViolationException e) {
-				if (e.getMessage().contains("product_id") && attempt < MAX_ID_GENERATION_ATTEMPTS - 1) {
-					product.setProductId(generateCustomProductId());
-					log.warn("Product ID collision detected, regenerating... Attempt: {}", attempt + 1);
-				} else {
-					throw new BusinessRuleException("Failed to create product after " + MAX_ID_GENERATION_ATTEMPTS
-							+ " attempts due to ID collision");
-				}
-			}
-		}
-
-		throw new BusinessRuleException("Failed to create product");
+		return buildSuccessResponse("Product created successfully", mapToResponse(savedProduct), HttpStatus.CREATED);
 	}
 
 	// ------------------ READ OPERATIONS ------------------
 
-	@Transactional(readOnly = true)
-	public ResponseEntity<ResponseStructure<ProductResponse>> getProductById(String productId) {
+	// SUPPORTS: cache hits should not check out a database connection
+	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+	public ResponseEntity<ResponseStructure<ProductResponse>> getProductById(String productId, UserDetailsImpl user,
+			HttpServletRequest request) {
 		log.info("Fetching product with ID: {}", productId);
 
+		String viewerKey = viewerKey(user, request);
+		Optional<ProductCache.CachedProduct> cached = productCache.get(productId);
+		if (cached.isPresent()) {
+			statsCounters.recordView(cached.get().id(), viewerKey);
+			return conditionalProductResponse(cached.get().version(), cached.get().response());
+		}
+
+		long cacheGeneration = productCache.generation();
 		Product product = productRepository.findByProductIdAndAvailableTrue(productId)
 				.orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + productId));
 
-		incrementViewCountAsync(product.getId());
+		statsCounters.recordView(product.getId(), viewerKey);
+
+		ProductResponse response = mapToResponse(product);
+		productCache.put(new ProductCache.CachedProduct(product.getId(), product.getVersion(), response),
+				cacheGeneration);
 
 		log.info("Successfully fetched product: {} (ID: {})", product.getName(), productId);
-		return buildSuccessResponse("Product fetched successfully", mapToResponse(product), HttpStatus.OK);
+		return conditionalProductResponse(product.getVersion(), response);
 	}
 
 	@Transactional(readOnly = true)
@@ -112,7 +154,7 @@ public class ProductService {
 		Product product = productRepository.findByIdAndAvailableTrue(internalId)
 				.orElseThrow(() -> new ResourceNotFoundException("Product not found with internal ID: " + internalId));
 
-		incrementViewCountAsync(product.getId());
+		statsCounters.recordView(product.getId());
 
 		return buildSuccessResponse("Product fetched successfully", mapToResponse(product), HttpStatus.OK);
 	}
@@ -139,17 +181,57 @@ public class ProductService {
 	}
 
 	@Transactional(readOnly = true)
-	public ResponseEntity<ResponseStructure<List<ProductResponse>>> getProductsByIds(List<String> productIds) {
+	public ResponseEntity<ResponseStructure<CursorPage<ProductResponse>>> scrollProducts(String categoryId,
+			String cursor, Integer size, String sortBy, String sortDirection) {
+
+		log.info("Scrolling products with categoryId: {}, size: {}", categoryId, size);
+
+		Sort sort = KeysetCursor.sort(sortBy, sortDirection, "createdAt", Sort.Direction.DESC, PRODUCT_KEYSET_FIELDS);
+		ScrollPosition position = KeysetCursor.decode(cursor, sort, PRODUCT_KEYSET_FIELDS);
+		Limit limit = Limit.of(resolvePageSize(size));
+
+		Window<Product> window = categoryId != null
+				? productRepository.findByCategoryCategoryIdAndAvailableTrue(categoryId, position, sort, limit)
+				: productRepository.findByAvailableTrue(position, sort, limit);
+
+		return buildSuccessResponse("Products fetched successfully", createCursorPage(window, sort), HttpStatus.OK);
+	}
+
+	/**
+	 * Multi-get for carts, wishlists and recently-viewed widgets: one query for
+	 * all ids, results in request order with repeated ids coalesced, plus the ids
+	 * that are unknown or unavailable.
+	 */
+	@Transactional(readOnly = true)
+	public ResponseEntity<ResponseStructure<ProductBatchResponse>> getProductsByIds(List<String> productIds) {
 		log.info("Fetching products by IDs: {}", productIds);
 
-		List<Product> products = productIds.stream()
-				.map(productId -> productRepository.findByProductIdAndAvailableTrue(productId).orElse(null))
-				.filter(product -> product != null).collect(Collectors.toList());
+		Set<String> requestedIds = productIds.stream().filter(StringUtils::hasText).map(String::trim)
+				.collect(Collectors.toCollection(LinkedHashSet::new));
+		if (requestedIds.size() > MAX_BATCH_IDS) {
+			throw new BusinessRuleException("Cannot fetch more than " + MAX_BATCH_IDS + " products at once");
+		}
+
+		Map<String, Product> productsById = requestedIds.isEmpty() ? Map.of()
+				: productRepository.findAvailableWithDetailsByProductIdIn(requestedIds).stream()
+						.collect(Collectors.toMap(Product::getProductId, p -> p, (a, b) -> a));
+
+		List<Product> products = new ArrayList<>();
+		List<String> missingIds = new ArrayList<>();
+		for (String productId : requestedIds) {
+			Product product = productsById.get(productId);
+			if (product != null) {
+				products.add(product);
+			} else {
+				missingIds.add(productId);
+			}
+		}
 
-		List<ProductResponse> responses = products.stream().map(this::mapToResponse).collect(Collectors.toList());
+		ProductBatchResponse response = ProductBatchResponse.builder()
+				.products(productResponseAssembler.toResponses(products)).missingIds(missingIds).build();
 
-		log.info("Found {} products out of {} requested", responses.size(), productIds.size());
-		return buildSuccessResponse("Products fetched successfully", responses, HttpStatus.OK);
+		log.info("Found {} products out of {} requested", products.size(), requestedIds.size());
+		return buildSuccessResponse("Products fetched successfully", response, HttpStatus.OK);
 	}
 
 	// ------------------ SEARCH OPERATIONS ------------------
@@ -160,11 +242,7 @@ public class ProductService {
 
 		log.info("Searching products with criteria: {}", searchRequest);
 
-		Pageable pageable = createPageable(searchRequest.getPage(), searchRequest.getSize(), searchRequest.getSortBy(),
-				searchRequest.getSortDirection());
-
-		Specification<Product> spec = ProductSpecifications.withSearchCriteria(searchRequest);
-		Page<Product> productsPage = productRepository.findAll(spec, pageable);
+		Page<Product> productsPage = findSearchPage(searchRequest, resolveRanking(searchRequest));
 
 		PagedResponse<ProductResponse> pagedResponse = createPagedResponse(productsPage);
 		log.info("Search completed - found {} products", pagedResponse.getContent().size());
@@ -172,6 +250,72 @@ public class ProductService {
 		return buildSuccessResponse("Search completed successfully", pagedResponse, HttpStatus.OK);
 	}
 
+	/**
+	 * Same as {@link #searchProducts} plus category, price-bucket and in-stock
+	 * counts over all matches, computed in one grouped query.
+	 */
+	@Transactional(readOnly = true)
+	public ResponseEntity<ResponseStructure<FacetedSearchResponse>> searchProductsWithFacets(
+			@Valid ProductSearchRequest searchRequest) {
+
+		log.info("Faceted search with criteria: {}", searchRequest);
+
+		Map<Long, Double> ranking = resolveRanking(searchRequest);
+		PagedResponse<ProductResponse> pagedResponse = createPagedResponse(findSearchPage(searchRequest, ranking));
+
+		List<BigDecimal> bucketBounds = searchProperties.getPriceBuckets();
+		List<Object[]> facetRows = ranking != null && ranking.isEmpty() ? List.of()
+				: productRepository.findSearchFacetRows(
+						ProductSpecifications.withSearchCriteria(searchRequest,
+								ranking != null ? ranking.keySet() : null),
+						bucketBounds);
+
+		FacetedSearchResponse response = FacetedSearchResponse.builder().results(pagedResponse)
+				.facets(buildSearchFacets(facetRows, bucketBounds)).build();
+		log.info("Faceted search completed - {} matches", response.getFacets().getTotalCount());
+
+		return buildSuccessResponse("Search completed successfully", response, HttpStatus.OK);
+	}
+
+	@Transactional(readOnly = true)
+	public ResponseEntity<ResponseStructure<CursorPage<ProductResponse>>> scrollSearchProducts(
+			@Valid ProductSearchRequest searchRequest, String cursor) {
+
+		log.info("Scrolling search results with criteria: {}", searchRequest);
+
+		boolean hasQuery = StringUtils.hasText(searchRequest.getQuery());
+		boolean sortByRelevance = hasQuery && isRelevanceSort(searchRequest.getSortBy());
+		int pageSize = resolvePageSize(searchRequest.getSize());
+
+		Map<Long, Double> ranking = resolveRanking(searchRequest.getQuery());
+		Specification<Product> spec = ProductSpecifications.withSearchCriteria(searchRequest,
+				ranking != null ? ranking.keySet() : null);
+
+		CursorPage<ProductResponse> result;
+		if (ranking != null && ranking.isEmpty()) {
+			result = CursorPage.<ProductResponse>builder().content(new ArrayList<>()).size(0).hasNext(false).build();
+		} else if (ranking != null && sortByRelevance) {
+			// Relevance order only exists in memory, so the cursor is an offset into the bounded ranked list
+			List<Product> ranked = orderByRelevance(productRepository.findAll(spec), ranking);
+			int from = (int) Math.min(KeysetCursor.decodeOffset(cursor), ranked.size());
+			int to = Math.min(from + pageSize, ranked.size());
+			List<ProductResponse> content = productResponseAssembler.toResponses(ranked.subList(from, to));
+			boolean hasNext = to < ranked.size();
+			result = CursorPage.<ProductResponse>builder().content(content).size(content.size()).hasNext(hasNext)
+					.nextCursor(hasNext ? KeysetCursor.encodeOffset(to) : null).build();
+		} else {
+			Sort sort = KeysetCursor.sort(sortByRelevance ? null : searchRequest.getSortBy(),
+					searchRequest.getSortDirection(), "createdAt", Sort.Direction.DESC, PRODUCT_KEYSET_FIELDS);
+			ScrollPosition position = KeysetCursor.decode(cursor, sort, PRODUCT_KEYSET_FIELDS);
+			Window<Product> window = productRepository.findBy(spec,
+					query -> query.sortBy(sort).limit(pageSize).scroll(position));
+			result = createCursorPage(window, sort);
+		}
+
+		log.info("Search scroll returned {} products", result.getContent().size());
+		return buildSuccessResponse("Search completed successfully", result, HttpStatus.OK);
+	}
+
 	@Transactional(readOnly = true)
 	public ResponseEntity<ResponseStructure<List<ProductResponse>>> searchProductsSimple(String query) {
 		log.info("Simple search for products with query: '{}'", query);
@@ -180,13 +324,27 @@ public class ProductService {
 			return buildSuccessResponse("Please provide a search query", new ArrayList<>(), HttpStatus.BAD_REQUEST);
 		}
 
-		List<Product> products = productRepository.searchByNameOrDescription(query.trim());
-		List<ProductResponse> responses = products.stream().map(this::mapToResponse).collect(Collectors.toList());
+		List<Product> products;
+		Map<Long, Double> ranking = resolveRanking(query);
+		if (ranking != null) {
+			products = orderByRelevance(productRepository.findAllById(ranking.keySet()).stream()
+					.filter(p -> Boolean.TRUE.equals(p.getAvailable())).collect(Collectors.toList()), ranking);
+		} else {
+			products = productRepository.searchByNameOrDescription(query.trim());
+		}
+		List<ProductResponse> responses = productResponseAssembler.toResponses(products);
 
 		log.info("Simple search found {} products for query: '{}'", responses.size(), query);
 		return buildSuccessResponse("Search completed successfully", responses, HttpStatus.OK);
 	}
 
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public ResponseEntity<ResponseStructure<AutocompleteResponse>> getAutocompleteSuggestions(String query,
+			Integer limit) {
+		AutocompleteResponse suggestions = autocompleteIndex.suggest(query, limit != null ? limit : 8);
+		return buildSuccessResponse("Suggestions fetched successfully", suggestions, HttpStatus.OK);
+	}
+
 	// ------------------ UPDATE OPERATIONS ------------------
 
 	public ResponseEntity<ResponseStructure<ProductResponse>> updateProduct(String productId,
@@ -200,6 +358,7 @@ public class ProductService {
 
 		if (hasChanges) {
 			Product savedProduct = productRepository.save(product);
+			publishChange(ChangeType.UPDATED, productId);
 			log.info("Product updated successfully: {}", productId);
 			return buildSuccessResponse("Product updated successfully", mapToResponse(savedProduct), HttpStatus.OK);
 		} else {
@@ -219,6 +378,7 @@ public class ProductService {
 
 		if (hasChanges) {
 			Product savedProduct = productRepository.save(product);
+			publishChange(ChangeType.UPDATED, productId);
 			log.info("Product partially updated successfully: {}", productId);
 			return buildSuccessResponse("Product updated successfully", mapToResponse(savedProduct), HttpStatus.OK);
 		} else {
@@ -241,6 +401,7 @@ public class ProductService {
 
 		product.setAvailable(false);
 		productRepository.save(product);
+		publishChange(ChangeType.DELETED, productId);
 
 		log.info("Product soft deleted successfully: {}", productId);
 		return buildSuccessResponse("Product deleted successfully", null, HttpStatus.OK);
@@ -256,6 +417,7 @@ public class ProductService {
 		deleteProductImages(product);
 
 		productRepository.delete(product);
+		publishChange(ChangeType.DELETED, productId);
 
 		log.info("Product hard deleted successfully: {}", productId);
 		return buildSuccessResponse("Product permanently deleted", null, HttpStatus.OK);
@@ -272,6 +434,7 @@ public class ProductService {
 
 		products.forEach(product -> product.setAvailable(false));
 		productRepository.saveAll(products);
+		publishChange(ChangeType.DELETED, products);
 
 		log.info("Bulk soft delete completed for {} products", products.size());
 		return buildSuccessResponse("Products deleted successfully", null, HttpStatus.OK);
@@ -291,27 +454,66 @@ public class ProductService {
 
 		product.setStockQuantity(quantity);
 		Product savedProduct = productRepository.save(product);
+		publishChange(ChangeType.STOCK, productId);
 
 		log.info("Stock updated for product: {}, new quantity: {}", productId, quantity);
 		return buildSuccessResponse("Stock updated successfully", mapToResponse(savedProduct), HttpStatus.OK);
 	}
 
+	/**
+	 * Decrements stock in a single conditional UPDATE, so concurrent checkouts
+	 * neither read-modify-write nor hold the row lock beyond that statement.
+	 */
 	public ResponseEntity<ResponseStructure<ProductResponse>> reduceStock(String productId, Integer quantity) {
 		log.info("Reducing stock for product: {}, quantity: {}", productId, quantity);
 
-		Product product = productRepository.findByProductId(productId)
+		validateStockQuantity(quantity);
+		if (productRepository.decrementStockIfAvailable(productId, quantity) == 0) {
+			if (!productRepository.existsByProductId(productId)) {
+				throw new ResourceNotFoundException("Product not found with ID: " + productId);
+			}
+			throw new BusinessRuleException("Insufficient stock");
+		}
+		publishChange(ChangeType.STOCK, productId);
+
+		Product savedProduct = productRepository.findByProductId(productId)
 				.orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + productId));
 
-		try {
-			product.reduceStock(quantity);
-			Product savedProduct = productRepository.save(product);
+		log.info("Stock reduced for product: {}, remaining quantity: {}", productId, savedProduct.getStockQuantity());
+		return buildSuccessResponse("Stock reduced successfully", mapToResponse(savedProduct), HttpStatus.OK);
+	}
 
-			log.info("Stock reduced for product: {}, remaining quantity: {}", productId,
-					savedProduct.getStockQuantity());
-			return buildSuccessResponse("Stock reduced successfully", mapToResponse(savedProduct), HttpStatus.OK);
-		} catch (IllegalStateException e) {
-			throw new BusinessRuleException(e.getMessage());
+	/**
+	 * All-or-nothing decrement for a whole order. Rows are updated in productId
+	 * order so that concurrent orders lock shared SKUs in the same sequence; if
+	 * any SKU is short the transaction rolls back and every short SKU is reported.
+	 */
+	public ResponseEntity<ResponseStructure<BulkOperationResult>> reduceStockBatch(Map<String, Integer> quantities) {
+		log.info("Reducing stock for {} products", quantities.size());
+
+		if (quantities.isEmpty()) {
+			throw new BusinessRuleException("No products provided for stock reduction");
+		}
+		quantities.values().forEach(this::validateStockQuantity);
+
+		List<String> insufficient = new ArrayList<>();
+		for (Map.Entry<String, Integer> entry : new TreeMap<>(quantities).entrySet()) {
+			if (productRepository.decrementStockIfAvailable(entry.getKey(), entry.getValue()) == 0) {
+				insufficient.add(entry.getKey());
+			}
 		}
+		if (!insufficient.isEmpty()) {
+			throw new BusinessRuleException("Insufficient stock or unknown products: " + insufficient);
+		}
+		eventPublisher.publishEvent(new ProductChangedEvent(ChangeType.STOCK, new ArrayList<>(quantities.keySet())));
+
+		BulkOperationResult result = BulkOperationResult.builder().totalProcessed(quantities.size())
+				.successfulOperations(quantities.size()).failedOperations(0)
+				.message("Stock reduced for " + quantities.size() + " products").processedAt(LocalDateTime.now())
+				.build();
+
+		log.info("Batch stock reduction completed: {}", result);
+		return buildSuccessResponse("Stock reduced successfully", result, HttpStatus.OK);
 	}
 
 	public ResponseEntity<ResponseStructure<ProductResponse>> addStock(String productId, Integer quantity) {
@@ -323,6 +525,7 @@ public class ProductService {
 		try {
 			product.addStock(quantity);
 			Product savedProduct = productRepository.save(product);
+			publishChange(ChangeType.STOCK, productId);
 
 			log.info("Stock added for product: {}, new quantity: {}", productId, savedProduct.getStockQuantity());
 			return buildSuccessResponse("Stock added successfully", mapToResponse(savedProduct), HttpStatus.OK);
@@ -331,23 +534,31 @@ public class ProductService {
 		}
 	}
 
-	public ResponseEntity<ResponseStructure<List<ProductStockResponse>>> getLowStockProducts(Integer threshold) {
+	@Transactional(readOnly = true)
+	public ResponseEntity<ResponseStructure<PagedResponse<ProductStockResponse>>> getLowStockProducts(
+			Integer threshold, Integer page, Integer size) {
 		log.info("Fetching products with stock below threshold: {}", threshold);
 
 		int stockThreshold = threshold != null ? threshold : 10;
+		Pageable pageable = PageRequest.of(page != null && page >= 0 ? page : 0, resolvePageSize(size));
+
+		Page<ProductStockResponse> lowStockPage;
+		if (stockLevelView.isReady()) {
+			List<ProductStockResponse> content = stockLevelView
+					.atOrBelow(stockThreshold, pageable.getOffset(), pageable.getPageSize()).stream()
+					.map(level -> toStockResponse(level.productId(), level.name(), level.stockQuantity(),
+							stockThreshold))
+					.collect(Collectors.toList());
+			lowStockPage = new PageImpl<>(content, pageable, stockLevelView.countAtOrBelow(stockThreshold));
+		} else {
+			lowStockPage = productRepository
+					.findAvailableWithStockAtMost(stockThreshold, withStockOrder(pageable))
+					.map(product -> toStockResponse(product.getProductId(), product.getName(),
+							product.getStockQuantity(), stockThreshold));
+		}
 
-		List<Product> lowStockProducts = productRepository.findAll().stream()
-				.filter(product -> product.getAvailable() && product.getStockQuantity() <= stockThreshold)
-				.collect(Collectors.toList());
-
-		List<ProductStockResponse> responses = lowStockProducts.stream()
-				.map(product -> ProductStockResponse.builder().productId(product.getProductId()).name(product.getName())
-						.currentStock(product.getStockQuantity()).threshold(stockThreshold).inStock(product.isInStock())
-						.build())
-				.collect(Collectors.toList());
-
-		log.info("Found {} products with low stock", responses.size());
-		return buildSuccessResponse("Low stock products fetched", responses, HttpStatus.OK);
+		log.info("Found {} products with low stock", lowStockPage.getTotalElements());
+		return buildSuccessResponse("Low stock products fetched", PagedResponse.of(lowStockPage), HttpStatus.OK);
 	}
 
 	// ------------------ POPULAR & TRENDING PRODUCTS ------------------
@@ -361,23 +572,22 @@ public class ProductService {
 		List<Product> popularProducts = productRepository.findByIsPopularTrueAndAvailableTrue().stream()
 				.limit(productLimit).collect(Collectors.toList());
 
-		List<ProductResponse> responses = popularProducts.stream().map(this::mapToResponse)
-				.collect(Collectors.toList());
+		List<ProductResponse> responses = productResponseAssembler.toResponses(popularProducts);
 
 		log.info("Found {} popular products", responses.size());
 		return buildSuccessResponse("Popular products fetched successfully", responses, HttpStatus.OK);
 	}
 
 	@Transactional(readOnly = true)
-	public ResponseEntity<ResponseStructure<List<ProductResponse>>> getTrendingProducts(Integer limit) {
-		log.info("Fetching trending products with limit: {}", limit);
+	public ResponseEntity<ResponseStructure<List<ProductResponse>>> getTrendingProducts(Integer limit,
+			TrendingWindow window) {
+		log.info("Fetching trending products with limit: {} and window: {}", limit, window);
 
 		int productLimit = limit != null && limit > 0 ? Math.min(limit, 50) : 10;
 
-		List<Product> trendingProducts = productStatsService.getTrendingProducts(productLimit);
+		List<Product> trendingProducts = productStatsService.getTrendingProducts(productLimit, window);
 
-		List<ProductResponse> responses = trendingProducts.stream().map(this::mapToResponse)
-				.collect(Collectors.toList());
+		List<ProductResponse> responses = productResponseAssembler.toResponses(trendingProducts);
 
 		log.info("Found {} trending products", responses.size());
 		return buildSuccessResponse("Trending products fetched successfully", responses, HttpStatus.OK);
@@ -389,8 +599,7 @@ public class ProductService {
 
 		List<Product> forceTrendingProducts = productRepository.findByIsForceTrendingTrueAndAvailableTrue();
 
-		List<ProductResponse> responses = forceTrendingProducts.stream().map(this::mapToResponse)
-				.collect(Collectors.toList());
+		List<ProductResponse> responses = productResponseAssembler.toResponses(forceTrendingProducts);
 
 		log.info("Found {} force-trending products", responses.size());
 		return buildSuccessResponse("Force-trending products fetched successfully", responses, HttpStatus.OK);
@@ -406,6 +615,7 @@ public class ProductService {
 
 		product.setIsPopular(Boolean.TRUE.equals(popular));
 		Product savedProduct = productRepository.save(product);
+		publishChange(ChangeType.UPDATED, productId);
 
 		String message = Boolean.TRUE.equals(popular) ? "Product marked as popular" : "Product unmarked as popular";
 
@@ -422,6 +632,7 @@ public class ProductService {
 
 		product.setIsForceTrending(Boolean.TRUE.equals(forceTrending));
 		Product savedProduct = productRepository.save(product);
+		publishChange(ChangeType.UPDATED, productId);
 
 		String message = Boolean.TRUE.equals(forceTrending) ? "Product force-marked as trending"
 				: "Product force-trending removed";
@@ -430,17 +641,18 @@ public class ProductService {
 		return buildSuccessResponse(message, mapToResponse(savedProduct), HttpStatus.OK);
 	}
 
-	public ResponseEntity<ResponseStructure<List<ProductResponse>>> getOutOfStockProducts() {
+	@Transactional(readOnly = true)
+	public ResponseEntity<ResponseStructure<PagedResponse<ProductResponse>>> getOutOfStockProducts(Integer page,
+			Integer size) {
 		log.info("Fetching out-of-stock products");
 
-		List<Product> outOfStockProducts = productRepository.findAll().stream()
-				.filter(product -> product.getAvailable() && !product.isInStock()).collect(Collectors.toList());
+		Pageable pageable = PageRequest.of(page != null && page >= 0 ? page : 0, resolvePageSize(size));
+		Page<Product> outOfStockPage = productRepository.findAvailableWithStockAtMost(0, withStockOrder(pageable));
 
-		List<ProductResponse> responses = outOfStockProducts.stream().map(this::mapToResponse)
-				.collect(Collectors.toList());
+		PagedResponse<ProductResponse> pagedResponse = createPagedResponse(outOfStockPage);
 
-		log.info("Found {} out-of-stock products", responses.size());
-		return buildSuccessResponse("Out-of-stock products fetched", responses, HttpStatus.OK);
+		log.info("Found {} out-of-stock products", pagedResponse.getTotalElements());
+		return buildSuccessResponse("Out-of-stock products fetched", pagedResponse, HttpStatus.OK);
 	}
 
 	// ------------------ IMAGE MANAGEMENT ------------------
@@ -488,6 +700,7 @@ public class ProductService {
 		// Remove from product
 		product.removeImageUrl(imageUrl);
 		Product savedProduct = productRepository.save(product);
+		publishChange(ChangeType.UPDATED, productId);
 
 		log.info("Image removed from product: {}", productId);
 		return buildSuccessResponse("Image removed successfully", mapToResponse(savedProduct), HttpStatus.OK);
@@ -505,6 +718,7 @@ public class ProductService {
 
 		product.setMainImageUrl(imageUrl);
 		Product savedProduct = productRepository.save(product);
+		publishChange(ChangeType.UPDATED, productId);
 
 		log.info("Main image set for product: {}", productId);
 		return buildSuccessResponse("Main image updated successfully", mapToResponse(savedProduct), HttpStatus.OK);
@@ -529,6 +743,7 @@ public class ProductService {
 		}
 
 		Product savedProduct = productRepository.save(product);
+		publishChange(ChangeType.UPDATED, productId);
 
 		log.info("Images reordered for product: {}", productId);
 		return buildSuccessResponse("Images reordered successfully", mapToResponse(savedProduct), HttpStatus.OK);
@@ -548,6 +763,7 @@ public class ProductService {
 
 		products.forEach(product -> product.setAvailable(available));
 		productRepository.saveAll(products);
+		publishChange(ChangeType.UPDATED, products);
 
 		BulkOperationResult result = BulkOperationResult.builder().totalProcessed(products.size())
 				.successfulOperations(products.size()).failedOperations(0)
@@ -575,6 +791,7 @@ public class ProductService {
 		});
 
 		productRepository.saveAll(products);
+		publishChange(ChangeType.UPDATED, products);
 
 		BulkOperationResult result = BulkOperationResult.builder().totalProcessed(products.size())
 				.successfulOperations(products.size()).failedOperations(0)
@@ -598,6 +815,7 @@ public class ProductService {
 		ProductAnalyticsResponse analytics = ProductAnalyticsResponse.builder().productId(productId)
 				.productName(product.getName()).totalSales(statsOpt.map(ProductStats::getSalesCount).orElse(0L))
 				.totalViews(statsOpt.map(ProductStats::getViewsCount).orElse(0L))
+				.uniqueViewers(statsOpt.map(ProductStats::getUniqueViewers).orElse(0L))
 				.totalWishlists(statsOpt.map(ProductStats::getWishlistCount).orElse(0L))
 				.averageRating(statsOpt.map(ProductStats::getAverageRating).orElse(BigDecimal.ZERO))
 				.reviewCount(statsOpt.map(ProductStats::getReviewCount).orElse(0L))
@@ -608,29 +826,52 @@ public class ProductService {
 		return buildSuccessResponse("Product analytics fetched", analytics, HttpStatus.OK);
 	}
 
-	@Transactional(readOnly = true)
+	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
 	public ResponseEntity<ResponseStructure<List<ProductSummaryResponse>>> getProductsSummary() {
 		log.info("Fetching products summary");
 
-		long totalProducts = productRepository.count();
-		long availableProducts = productRepository.countAvailableProducts();
-		long outOfStockProducts = productRepository.findAll().stream()
-				.filter(product -> product.getAvailable() && !product.isInStock()).count();
-		long popularProducts = productRepository.findByIsPopularTrueAndAvailableTrue().size();
+		ProductCounts counts = productSummaryCache.get();
 
 		List<ProductSummaryResponse> summary = List.of(
-				ProductSummaryResponse.builder().type("TOTAL_PRODUCTS").count(totalProducts)
+				ProductSummaryResponse.builder().type("TOTAL_PRODUCTS").count(counts.total())
 						.description("Total products in system").build(),
-				ProductSummaryResponse.builder().type("AVAILABLE_PRODUCTS").count(availableProducts)
+				ProductSummaryResponse.builder().type("AVAILABLE_PRODUCTS").count(counts.available())
 						.description("Products currently available").build(),
-				ProductSummaryResponse.builder().type("OUT_OF_STOCK").count(outOfStockProducts)
+				ProductSummaryResponse.builder().type("OUT_OF_STOCK").count(counts.outOfStock())
 						.description("Available products with zero stock").build(),
-				ProductSummaryResponse.builder().type("POPULAR_PRODUCTS").count((long) popularProducts)
+				ProductSummaryResponse.builder().type("POPULAR_PRODUCTS").count(counts.popular())
 						.description("Products marked as popular").build());
 
 		return buildSuccessResponse("Products summary fetched", summary, HttpStatus.OK);
 	}
 
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public ResponseEntity<ResponseStructure<CacheStatsResponse>> getCacheStats() {
+		return buildSuccessResponse("Product cache statistics fetched", productCache.stats(), HttpStatus.OK);
+	}
+
+	/**
+	 * Fills the product detail cache with the most popular products without
+	 * counting views. Used by the startup warm-up.
+	 *
+	 * @return number of products cached
+	 */
+	@Transactional(readOnly = true)
+	public int warmProductCache(int limit) {
+		long cacheGeneration = productCache.generation();
+		List<Long> ids = productStatsRepository.findTopTrendingProducts(PageRequest.of(0, limit)).stream()
+				.map(ProductStats::getProductId).collect(Collectors.toList());
+		List<Product> products = productRepository.findAllById(ids);
+		List<ProductResponse> responses = productResponseAssembler.toResponses(products);
+
+		for (int i = 0; i < products.size(); i++) {
+			Product product = products.get(i);
+			productCache.put(new ProductCache.CachedProduct(product.getId(), product.getVersion(), responses.get(i)),
+					cacheGeneration);
+		}
+		return products.size();
+	}
+
 	// ------------------ PRIVATE HELPER METHODS ------------------
 
 	private Product mapToProduct(ProductCreateRequest request, Category category) {
@@ -643,25 +884,7 @@ public class ProductService {
 	}
 
 	private ProductResponse mapToResponse(Product product) {
-		Optional<ProductStats> stats = productStatsRepository.findByProductId(product.getId());
-
-		ProductStatsResponse statsResponse = null;
-		if (stats.isPresent()) {
-			ProductStats stat = stats.get();
-			statsResponse = ProductStatsResponse.builder().salesCount(stat.getSalesCount())
-					.viewsCount(stat.getViewsCount()).wishlistCount(stat.getWishlistCount())
-					.reviewCount(stat.getReviewCount()).averageRating(stat.getAverageRating())
-					.popularityScore(stat.getPopularityScore()).lastUpdated(stat.getLastUpdated()).build();
-		}
-
-		return ProductResponse.builder().productId(product.getProductId()).name(product.getName())
-				.description(product.getDescription()).price(product.getPrice()).available(product.getAvailable())
-				.stockQuantity(product.getStockQuantity()).sku(product.getSku())
-				.categoryName(product.getCategory().getName()).categoryId(product.getCategory().getCategoryId())
-				.imageUrls(product.getImageUrls()).mainImageUrl(product.getMainImageUrl())
-				.createdAt(product.getCreatedAt()).updatedAt(product.getUpdatedAt()).inStock(product.isInStock())
-				.isPopular(product.getIsPopular()).isForceTrending(product.getIsForceTrending()).stats(statsResponse)
-				.build();
+		return productResponseAssembler.toResponse(product);
 	}
 
 	private boolean updateProductFields(Product product, ProductUpdateRequest request) {
@@ -741,11 +964,18 @@ public class ProductService {
 		return hasChanges;
 	}
 
-	private void incrementViewCountAsync(Long productId) {
-		try {
-			productStatsService.incrementView(productId);
-		} catch (Exception ex) {
-			log.warn("Failed to increment view count for product internal ID {}: {}", productId, ex.getMessage());
+	private void publishChange(ChangeType type, String productId) {
+		eventPublisher.publishEvent(ProductChangedEvent.of(type, productId));
+	}
+
+	private void publishChange(ChangeType type, List<Product> products) {
+		eventPublisher.publishEvent(new ProductChangedEvent(type,
+				products.stream().map(Product::getProductId).collect(Collectors.toList())));
+	}
+
+	private void validateStockQuantity(Integer quantity) {
+		if (quantity == null || quantity <= 0) {
+			throw new BusinessRuleException("Quantity must be positive");
 		}
 	}
 
@@ -788,14 +1018,14 @@ public class ProductService {
 		}
 
 		Product savedProduct = productRepository.save(product);
+		publishChange(ChangeType.UPDATED, productId);
 		log.info("Successfully added {} images to product: {}", imageUrls.size(), productId);
 
 		return buildSuccessResponse("Images added successfully", mapToResponse(savedProduct), HttpStatus.OK);
 	}
 
 	private PagedResponse<ProductResponse> createPagedResponse(Page<Product> productsPage) {
-		List<ProductResponse> content = productsPage.getContent().stream().map(this::mapToResponse)
-				.collect(Collectors.toList());
+		List<ProductResponse> content = productResponseAssembler.toResponses(productsPage.getContent());
 
 		return PagedResponse.<ProductResponse>builder().content(content).pageNumber(productsPage.getNumber())
 				.pageSize(productsPage.getSize()).totalElements(productsPage.getTotalElements())
@@ -803,9 +1033,128 @@ public class ProductService {
 				.build();
 	}
 
+	private Map<Long, Double> resolveRanking(ProductSearchRequest searchRequest) {
+		return resolveRanking(searchRequest.getQuery());
+	}
+
+	/**
+	 * Index matches for the text query, or null when the database should match
+	 * it: the index is still building, or the query matches more than
+	 * {@code max-candidates} products. Category, price and stock filters run on
+	 * the candidates afterwards, so a truncated set would drop results and
+	 * undercount totals and facets.
+	 */
+	private Map<Long, Double> resolveRanking(String query) {
+		if (!StringUtils.hasText(query) || !searchIndex.isReady()) {
+			return null;
+		}
+		int maxCandidates = searchProperties.getMaxCandidates();
+		Map<Long, Double> ranking = searchIndex.search(query, maxCandidates + 1);
+		if (ranking.size() > maxCandidates) {
+			log.debug("Query '{}' matches more than {} indexed products, searching the database", query,
+					maxCandidates);
+			return null;
+		}
+		return ranking;
+	}
+
+	private Page<Product> findSearchPage(ProductSearchRequest searchRequest, Map<Long, Double> ranking) {
+		boolean sortByRelevance = StringUtils.hasText(searchRequest.getQuery())
+				&& isRelevanceSort(searchRequest.getSortBy());
+		Pageable pageable = createPageable(searchRequest.getPage(), searchRequest.getSize(),
+				sortByRelevance ? null : searchRequest.getSortBy(), searchRequest.getSortDirection());
+
+		if (ranking == null) {
+			return productRepository.findAll(ProductSpecifications.withSearchCriteria(searchRequest), pageable);
+		}
+		if (ranking.isEmpty()) {
+			return Page.empty(pageable);
+		}
+		Specification<Product> spec = ProductSpecifications.withSearchCriteria(searchRequest, ranking.keySet());
+		return sortByRelevance ? rankByRelevance(productRepository.findAll(spec), ranking, pageable)
+				: productRepository.findAll(spec, pageable);
+	}
+
+	// rows: categoryId, categoryName, bucket index, count, in-stock count
+	private SearchFacets buildSearchFacets(List<Object[]> rows, List<BigDecimal> bucketBounds) {
+		Map<String, FacetCount> categories = new LinkedHashMap<>();
+		long[] bucketCounts = new long[bucketBounds.size() + 1];
+		long total = 0;
+		long inStock = 0;
+
+		for (Object[] row : rows) {
+			String categoryId = (String) row[0];
+			int bucket = ((Number) row[2]).intValue();
+			long count = ((Number) row[3]).longValue();
+
+			FacetCount categoryFacet = categories.computeIfAbsent(categoryId,
+					id -> FacetCount.builder().value(id).label((String) row[1]).count(0L).build());
+			categoryFacet.setCount(categoryFacet.getCount() + count);
+			bucketCounts[bucket] += count;
+			total += count;
+			inStock += row[4] != null ? ((Number) row[4]).longValue() : 0L;
+		}
+
+		List<PriceRangeFacet> priceRanges = new ArrayList<>();
+		for (int i = 0; i < bucketCounts.length; i++) {
+			priceRanges.add(PriceRangeFacet.builder().min(i == 0 ? BigDecimal.ZERO : bucketBounds.get(i - 1))
+					.max(i < bucketBounds.size() ? bucketBounds.get(i) : null).count(bucketCounts[i]).build());
+		}
+
+		List<FacetCount> categoryFacets = categories.values().stream()
+				.sorted(Comparator.comparingLong(FacetCount::getCount).reversed()).collect(Collectors.toList());
+
+		return SearchFacets.builder().totalCount(total).inStockCount(inStock).categories(categoryFacets)
+				.priceRanges(priceRanges).build();
+	}
+
+	private boolean isRelevanceSort(String sortBy) {
+		return sortBy == null || sortBy.isBlank() || "relevance".equalsIgnoreCase(sortBy);
+	}
+
+	private List<Product> orderByRelevance(List<Product> matches, Map<Long, Double> ranking) {
+		return matches.stream().sorted(
+				Comparator.comparing((Product p) -> ranking.get(p.getId())).reversed().thenComparing(Product::getId))
+				.collect(Collectors.toList());
+	}
+
+	// Orders the filtered index matches by score and cuts the requested page
+	private Page<Product> rankByRelevance(List<Product> matches, Map<Long, Double> ranking, Pageable pageable) {
+		List<Product> ranked = orderByRelevance(matches, ranking);
+
+		int from = (int) Math.min(pageable.getOffset(), ranked.size());
+		int to = Math.min(from + pageable.getPageSize(), ranked.size());
+		Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+		return new PageImpl<>(ranked.subList(from, to), unsorted, ranked.size());
+	}
+
+	private CursorPage<ProductResponse> createCursorPage(Window<Product> window, Sort sort) {
+		List<ProductResponse> content = productResponseAssembler.toResponses(window.getContent());
+		String nextCursor = window.hasNext() && !window.isEmpty()
+				? KeysetCursor.encode((KeysetScrollPosition) window.positionAt(window.size() - 1), sort)
+				: null;
+
+		return CursorPage.<ProductResponse>builder().content(content).size(content.size()).hasNext(window.hasNext())
+				.nextCursor(nextCursor).build();
+	}
+
+	private Pageable withStockOrder(Pageable pageable) {
+		return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+				Sort.by(Sort.Order.asc("stockQuantity"), Sort.Order.asc("id")));
+	}
+
+	private ProductStockResponse toStockResponse(String productId, String name, int stock, int threshold) {
+		return ProductStockResponse.builder().productId(productId).name(name).currentStock(stock).threshold(threshold)
+				.inStock(stock > 0).needsRestock(stock <= threshold).build();
+	}
+
+	private int resolvePageSize(Integer size) {
+		return size != null && size > 0 ? Math.min(size, 100) : 20;
+	}
+
 	private Pageable createPageable(Integer page, Integer size, String sortBy, String sortDirection) {
 		int pageNumber = page != null && page >= 0 ? page : 0;
-		int pageSize = size != null && size > 0 ? Math.min(size, 100) : 20;
+		int pageSize = resolvePageSize(size);
 
 		Sort.Direction direction = Sort.Direction
 				.fromString(sortDirection != null ? sortDirection.toUpperCase() : "DESC");
@@ -825,10 +1174,36 @@ public class ProductService {
 		return 0.0;
 	}
 
-	private String generateCustomProductId() {
-		String timestamp = String.valueOf(System.currentTimeMillis() % 1000000);
-		String random = String.format("%03d", ThreadLocalRandom.current().nextInt(1000));
-		return "P" + timestamp + random;
+	// Identifies a viewer for unique-view counting; hashed before it is kept anywhere
+	private String viewerKey(UserDetailsImpl user, HttpServletRequest request) {
+		if (user != null) {
+			return "user:" + user.getId();
+		}
+		if (request == null) {
+			return null;
+		}
+		String userAgent = request.getHeader(HttpHeaders.USER_AGENT);
+		return "anon:" + RequestUtils.clientIp(request) + "|" + (userAgent != null ? userAgent : "");
+	}
+
+	// Generated ids are unique among themselves; skip the rare clash with a legacy random id
+	private String nextFreeProductId() {
+		String productId = idGenerator.nextProductId();
+		while (productRepository.existsByProductId(productId)) {
+			log.warn("Generated product ID {} already taken, skipping", productId);
+			productId = idGenerator.nextProductId();
+		}
+		return productId;
+	}
+
+	// Spring MVC answers If-None-Match / If-Modified-Since with 304 from these headers before serializing
+	private ResponseEntity<ResponseStructure<ProductResponse>> conditionalProductResponse(Long version,
+			ProductResponse response) {
+		ResponseEntity<ResponseStructure<ProductResponse>> entity = buildSuccessResponse(
+				"Product fetched successfully", response, HttpStatus.OK);
+		return ResponseEntity.ok().eTag(catalogEpoch.productTag(version, response.getUpdatedAt()))
+				.lastModified(catalogEpoch.productLastModified(response.getUpdatedAt()))
+				.cacheControl(CacheControl.noCache()).body(entity.getBody());
 	}
 
 	private <T> ResponseEntity<ResponseStructure<T>> buildSuccessResponse(String message, T data, HttpStatus status) {
@@ -0,0 +1,339 @@
+package com.printkon.pdp.catalog.services;
+
+import com.printkon.pdp.config.ProductStatsProperties;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind view and wishlist counters. Request threads only bump a striped
+ * {@link LongAdder}; a scheduled flush writes the accumulated deltas back to
+ * {@code product_stats} as one JDBC batch, so a hot product no longer costs a
+ * transaction and a row lock per page view.
+ *
+ * <p>
+ * The adders are never reset: each entry remembers how much of its running
+ * total has been written, so increments racing a flush are simply picked up by
+ * the next one and a failed flush is retried as a whole. What can be lost is
+ * bounded to the counts of the last flush interval on a crash (a graceful
+ * shutdown flushes once more) plus, rarely, an increment racing the eviction
+ * of an idle entry.
+ *
+ * <p>
+ * Views that carry a viewer key also feed a {@link HyperLogLog} of distinct
+ * viewers per product (about 2 KB while the product is being viewed). Flushes
+ * merge it into the sketch stored on the stats row under a row lock; merging
+ * is idempotent, so every node can simply re-merge its whole sketch whenever
+ * it has changed.
+ */
+@Slf4j
+@Component
+public class ProductStatsCounters {
+
+	// The score is assigned first: MySQL evaluates SET left to right with already-updated values
+	private static final String FLUSH_SQL = "UPDATE product_stats SET "
+			+ "popularity_score = sales_count * ? + (views_count + ?) * ? + (wishlist_count + ?) * ?, "
+			+ "views_count = views_count + ?, wishlist_count = wishlist_count + ?, last_updated = ? "
+			+ "WHERE product_id = ?";
+
+	private static final String SKETCH_SQL = "UPDATE product_stats SET unique_viewers_sketch = ?, unique_viewers = ? "
+			+ "WHERE product_id = ?";
+
+	private static final class Counter {
+		final LongAdder views = new LongAdder();
+		final LongAdder wishlistAdds = new LongAdder();
+		final HyperLogLog viewers = new HyperLogLog();
+		// Written back so far; only touched by the flushing thread
+		long flushedViews;
+		long flushedWishlistAdds;
+	}
+
+	// sketch: serialized viewers if they changed since the last flush, else null
+	private record Delta(Long productId, Counter counter, long views, long wishlistAdds, byte[] sketch) {
+	}
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final ProductStatsService statsService;
+	private final TrendingIndex trendingIndex;
+	private final PopularityModel popularityModel;
+	private final DailyStatsRollup dailyStatsRollup;
+	private final int batchSize;
+
+	private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+	private final ReentrantLock flushLock = new ReentrantLock();
+
+	public ProductStatsCounters(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+			ProductStatsService statsService, TrendingIndex trendingIndex, PopularityModel popularityModel,
+			DailyStatsRollup dailyStatsRollup, ProductStatsProperties properties) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = transactionTemplate;
+		this.statsService = statsService;
+		this.trendingIndex = trendingIndex;
+		this.popularityModel = popularityModel;
+		this.dailyStatsRollup = dailyStatsRollup;
+		this.batchSize = Math.max(1, properties.getFlushBatchSize());
+	}
+
+	public void recordView(Long productId) {
+		counter(productId).views.increment();
+	}
+
+	/**
+	 * Counts a view and adds the viewer to the product's distinct-viewer sketch.
+	 * The key (user id, or address and user agent) is hashed, never stored.
+	 */
+	public void recordView(Long productId, String viewerKey) {
+		Counter counter = counter(productId);
+		counter.views.increment();
+		if (viewerKey != null) {
+			counter.viewers.offer(hash(viewerKey));
+		}
+	}
+
+	public void recordWishlistAdd(Long productId) {
+		counter(productId).wishlistAdds.increment();
+	}
+
+	/**
+	 * Writes all pending deltas back. Runs on the scheduler and once more on
+	 * shutdown; concurrent calls are serialized.
+	 */
+	@Scheduled(fixedDelayString = "${app.catalog.stats.flush-interval:PT5S}")
+	public void flush() {
+		flushLock.lock();
+		try {
+			List<Delta> deltas = collectDeltas();
+			if (deltas.isEmpty()) {
+				return;
+			}
+
+			int written = 0;
+			for (int from = 0; from < deltas.size(); from += batchSize) {
+				written += write(deltas.subList(from, Math.min(from + batchSize, deltas.size())));
+			}
+			log.debug("Flushed buffered stats of {}/{} products", written, deltas.size());
+		} finally {
+			flushLock.unlock();
+		}
+	}
+
+	@PreDestroy
+	public void flushOnShutdown() {
+		try {
+			flush();
+		} catch (Exception e) {
+			log.warn("Final flush of buffered product stats failed: {}", e.getMessage());
+		}
+	}
+
+	// ------------------ PRIVATE HELPER METHODS ------------------
+
+	private Counter counter(Long productId) {
+		Counter counter = counters.get(productId);
+		return counter != null ? counter : counters.computeIfAbsent(productId, id -> new Counter());
+	}
+
+	private List<Delta> collectDeltas() {
+		List<Delta> deltas = new ArrayList<>();
+		counters.forEach((productId, counter) -> {
+			long views = counter.views.sum() - counter.flushedViews;
+			long wishlistAdds = counter.wishlistAdds.sum() - counter.flushedWishlistAdds;
+			byte[] sketch = counter.viewers.drainIfDirty();
+			if (views > 0 || wishlistAdds > 0 || sketch != null) {
+				deltas.add(new Delta(productId, counter, views, wishlistAdds, sketch));
+			} else if (counters.remove(productId, counter)) {
+				// Idle since the last flush; carry over anything that slipped in meanwhile
+				long lateViews = counter.views.sum() - counter.flushedViews;
+				long lateWishlistAdds = counter.wishlistAdds.sum() - counter.flushedWishlistAdds;
+				if (lateViews > 0 || lateWishlistAdds > 0) {
+					Counter successor = counter(productId);
+					successor.views.add(lateViews);
+					successor.wishlistAdds.add(lateWishlistAdds);
+					successor.viewers.merge(counter.viewers);
+					successor.viewers.markDirty();
+				}
+			}
+		});
+		return deltas;
+	}
+
+	/**
+	 * Applies one batch and marks the deltas that reached the database as
+	 * flushed. Products without a stats row get one created; deltas of products
+	 * that no longer exist are dropped. Which rows exist is read first: drivers
+	 * may report {@link Statement#SUCCESS_NO_INFO} instead of row counts, which
+	 * only means success for an update of a row known to be there.
+	 */
+	private int write(List<Delta> batch) {
+		LocalDateTime now = LocalDateTime.now();
+		List<Delta> updates = new ArrayList<>(batch.size());
+		List<Delta> inserts = new ArrayList<>();
+		int[][] counts;
+		try {
+			Set<Long> existing = existingStatsRows(batch);
+			batch.forEach(delta -> (existing.contains(delta.productId()) ? updates : inserts).add(delta));
+			counts = updates.isEmpty() ? new int[0][]
+					: transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(FLUSH_SQL, updates,
+							updates.size(), (ps, delta) -> {
+								ps.setDouble(1, popularityModel.getSalesWeight());
+								ps.setLong(2, delta.views());
+								ps.setDouble(3, popularityModel.getViewsWeight());
+								ps.setLong(4, delta.wishlistAdds());
+								ps.setDouble(5, popularityModel.getWishlistWeight());
+								ps.setLong(6, delta.views());
+								ps.setLong(7, delta.wishlistAdds());
+								ps.setObject(8, now);
+								ps.setLong(9, delta.productId());
+							}));
+		} catch (DataAccessException e) {
+			log.warn("Flushing buffered stats of {} products failed, retrying next run: {}", batch.size(),
+					e.getMostSpecificCause().getMessage());
+			batch.forEach(ProductStatsCounters::keepSketch);
+			return 0;
+		}
+
+		List<DailyStatsRollup.Activity> written = new ArrayList<>(batch.size());
+		List<Delta> sketches = new ArrayList<>();
+		int index = 0;
+		for (int[] chunk : counts) {
+			for (int count : chunk) {
+				Delta delta = updates.get(index++);
+				// A row that vanished since the check belonged to a deleted product
+				settle(delta, count > 0 || count == Statement.SUCCESS_NO_INFO || createStatsRow(delta), written,
+						sketches);
+			}
+		}
+		for (Delta delta : inserts) {
+			settle(delta, createStatsRow(delta), written, sketches);
+		}
+		rollUp(written);
+		mergeSketches(sketches);
+		return written.size();
+	}
+
+	private void settle(Delta delta, boolean applied, List<DailyStatsRollup.Activity> written,
+			List<Delta> sketches) {
+		if (!applied) {
+			keepSketch(delta);
+			return;
+		}
+		delta.counter().flushedViews += delta.views();
+		delta.counter().flushedWishlistAdds += delta.wishlistAdds();
+		trendingIndex.applyDelta(delta.productId(), 0, delta.views(), delta.wishlistAdds());
+		written.add(new DailyStatsRollup.Activity(delta.productId(), delta.views(), delta.wishlistAdds(), 0, null));
+		if (delta.sketch() != null) {
+			sketches.add(delta);
+		}
+	}
+
+	private Set<Long> existingStatsRows(List<Delta> batch) {
+		String sql = "SELECT product_id FROM product_stats WHERE product_id IN ("
+				+ String.join(", ", Collections.nCopies(batch.size(), "?")) + ")";
+		return new HashSet<>(jdbcTemplate.queryForList(sql, Long.class,
+				batch.stream().map(Delta::productId).toArray()));
+	}
+
+	/**
+	 * Merges the batch's viewer sketches into the stored ones. Rows are locked
+	 * in id order, so concurrent flushes from other nodes cannot deadlock or
+	 * overwrite each other's registers.
+	 */
+	private void mergeSketches(List<Delta> deltas) {
+		if (deltas.isEmpty()) {
+			return;
+		}
+		List<Delta> sorted = new ArrayList<>(deltas);
+		sorted.sort(Comparator.comparing(Delta::productId));
+		String sql = "SELECT product_id, unique_viewers_sketch FROM product_stats WHERE product_id IN ("
+				+ String.join(", ", Collections.nCopies(sorted.size(), "?")) + ") ORDER BY product_id FOR UPDATE";
+
+		try {
+			transactionTemplate.executeWithoutResult(status -> {
+				Map<Long, byte[]> stored = new HashMap<>();
+				jdbcTemplate.query(sql, (RowCallbackHandler) rs -> stored.put(rs.getLong(1), rs.getBytes(2)),
+						sorted.stream().map(Delta::productId).toArray());
+
+				List<Object[]> updates = new ArrayList<>(stored.size());
+				for (Delta delta : sorted) {
+					if (stored.containsKey(delta.productId())) {
+						HyperLogLog merged = HyperLogLog.fromBytes(stored.get(delta.productId()));
+						merged.merge(HyperLogLog.fromBytes(delta.sketch()));
+						updates.add(new Object[] { merged.toBytes(), merged.estimate(), delta.productId() });
+					}
+				}
+				if (!updates.isEmpty()) {
+					jdbcTemplate.batchUpdate(SKETCH_SQL, updates);
+				}
+			});
+		} catch (DataAccessException e) {
+			log.warn("Merging viewer sketches of {} products failed, retrying next run: {}", deltas.size(),
+					e.getMostSpecificCause().getMessage());
+			deltas.forEach(ProductStatsCounters::keepSketch);
+		}
+	}
+
+	// The sketch did not reach the database; have the next flush send it again
+	private static void keepSketch(Delta delta) {
+		if (delta.sketch() != null) {
+			delta.counter().viewers.markDirty();
+		}
+	}
+
+	// First 64 bits of SHA-256: uniform enough for the sketch and not reversible to the key
+	private static long hash(String viewerKey) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(viewerKey.getBytes(StandardCharsets.UTF_8));
+			return ByteBuffer.wrap(digest).getLong();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+
+	// Best effort: lifetime counters are committed already, a failure only loses this batch's daily rows
+	private void rollUp(List<DailyStatsRollup.Activity> activity) {
+		try {
+			dailyStatsRollup.add(LocalDate.now(), activity);
+		} catch (Exception e) {
+			log.warn("Daily rollup of {} products' views failed: {}", activity.size(), e.getMessage());
+		}
+	}
+
+	private boolean createStatsRow(Delta delta) {
+		try {
+			if (!statsService.createStats(delta.productId(), delta.views(), delta.wishlistAdds())) {
+				log.debug("Dropping buffered stats of deleted product {}", delta.productId());
+			}
+			return true;
+		} catch (Exception e) {
+			// Most likely created concurrently; the next flush updates it
+			log.debug("Could not create stats row for product {}: {}", delta.productId(), e.getMessage());
+			return false;
+		}
+	}
+}
@@ -4,11 +4,15 @@ import com.printkon.pdp.catalog.models.Product;
 import com.printkon.pdp.catalog.models.ProductStats;
 import com.printkon.pdp.catalog.repositories.ProductRepository;
 import com.printkon.pdp.catalog.repositories.ProductStatsRepository;
+import com.printkon.pdp.common.enums.TrendingWindow;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -18,11 +22,8 @@ public class ProductStatsService {
 
 	private final ProductStatsRepository statsRepository;
 	private final ProductRepository productRepository;
-
-	// weights - you can externalize to properties
-	private static final double W_SALES = 0.6;
-	private static final double W_VIEWS = 0.3;
-	private static final double W_WISHLIST = 0.1;
+	private final TrendingIndex trendingIndex;
+	private final PopularityModel popularityModel;
 
 	/**
 	 * Ensure stats row exists for a product.
@@ -37,75 +38,80 @@ public class ProductStatsService {
 	}
 
 	/**
-	 * Increment view counter (db-level update if exists, else create row).
+	 * Creates the stats row of a product that has none yet, seeded with counts
+	 * buffered by {@link ProductStatsCounters}. Returns false if the product no
+	 * longer exists.
 	 */
 	@Transactional(propagation = Propagation.REQUIRES_NEW)
-	public void incrementView(Long productId) {
-		int updated = statsRepository.incrementViews(productId);
-		if (updated == 0) {
-			// No row present - create and set to 1
-			Product p = productRepository.findById(productId)
-					.orElseThrow(() -> new RuntimeException("Product not found"));
-			ProductStats s = ProductStats.builder().product(p).viewsCount(1L).salesCount(0L).wishlistCount(0L).build();
-			statsRepository.save(s);
+	public boolean createStats(Long productId, long views, long wishlistAdds) {
+		Optional<Product> product = productRepository.findById(productId);
+		if (product.isEmpty()) {
+			return false;
 		}
+		ProductStats s = ProductStats.builder().product(product.get()).viewsCount(views).salesCount(0L)
+				.wishlistCount(wishlistAdds).popularityScore(popularityModel.score(0, views, wishlistAdds)).build();
+		statsRepository.saveAndFlush(s);
+		return true;
 	}
 
 	@Transactional(propagation = Propagation.REQUIRES_NEW)
-	public void incrementWishlist(Long productId) {
-		int updated = statsRepository.incrementWishlist(productId);
-		if (updated == 0) {
+	public void incrementSales(Long productId, long qty) {
+		int updated = statsRepository.incrementSales(productId, qty, popularityModel.getSalesWeight(),
+				popularityModel.getViewsWeight(), popularityModel.getWishlistWeight());
+		// A reversal without a stats row has nothing to take back
+		if (updated == 0 && qty > 0) {
 			Product p = productRepository.findById(productId)
 					.orElseThrow(() -> new RuntimeException("Product not found"));
-			ProductStats s = ProductStats.builder().product(p).viewsCount(0L).salesCount(0L).wishlistCount(1L).build();
+			ProductStats s = ProductStats.builder().product(p).salesCount(qty).viewsCount(0L).wishlistCount(0L)
+					.popularityScore(popularityModel.score(qty, 0, 0)).build();
 			statsRepository.save(s);
 		}
+		trendingIndex.applyDelta(productId, qty, 0, 0);
 	}
 
-	@Transactional(propagation = Propagation.REQUIRES_NEW)
-	public void incrementSales(Long productId, long qty) {
-		int updated = statsRepository.incrementSales(productId, qty);
-		if (updated == 0) {
-			Product p = productRepository.findById(productId)
-					.orElseThrow(() -> new RuntimeException("Product not found"));
-			ProductStats s = ProductStats.builder().product(p).salesCount(qty).viewsCount(0L).wishlistCount(0L).build();
-			statsRepository.save(s);
+	/**
+	 * Adds an approved review's rating to the product's aggregate, or takes an
+	 * un-approved one out. Joins the moderation transaction so both commit
+	 * together.
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void applyRatingChange(Product product, int rating, boolean approved) {
+		long sign = approved ? 1 : -1;
+		if (statsRepository.applyRatingDelta(product.getId(), sign * rating, sign) == 0) {
+			statsRepository.saveAndFlush(ProductStats.builder().product(product).salesCount(0L).viewsCount(0L)
+					.wishlistCount(0L).build());
+			statsRepository.applyRatingDelta(product.getId(), sign * rating, sign);
 		}
 	}
 
 	/**
-	 * Compute trending products using weighted score and return top N. This
-	 * implementation fetches stats + products and computes in-memory. For heavy
-	 * scale, move computation to DB or use offline batch.
+	 * Average rating as stored on product_stats, {@code null} without reviews.
 	 */
-	@Transactional(readOnly = true)
-	public List<Product> getTrendingProducts(int limit) {
-		// load all stats with products available
-		List<ProductStats> allStats = statsRepository.findAll(); // small scale; consider querying only recent ones
-
-		Map<Product, Double> scores = new HashMap<>();
-		for (ProductStats s : allStats) {
-			Product p = s.getProduct();
-			if (p == null || !Boolean.TRUE.equals(p.getAvailable()))
-				continue;
-
-			double score = s.getSalesCount() * W_SALES + s.getViewsCount() * W_VIEWS
-					+ s.getWishlistCount() * W_WISHLIST;
-
-			// Boost if admin forced trending flag
-			if (Boolean.TRUE.equals(p.getIsForceTrending())) {
-				score += Double.MAX_VALUE / 4; // effectively put them on top
-			}
+	public static BigDecimal averageRating(long ratingSum, long reviewCount) {
+		return reviewCount > 0
+				? BigDecimal.valueOf(ratingSum).divide(BigDecimal.valueOf(reviewCount), 2, RoundingMode.HALF_UP)
+				: null;
+	}
 
-			scores.put(p, score);
+	/**
+	 * Top N trending products, force-trending ones first, ranked by lifetime
+	 * stats or, given a window, by recent activity. Served from the
+	 * {@link TrendingIndex}; until it has loaded, falls back to the lifetime
+	 * ranking in the database.
+	 */
+	@Transactional(readOnly = true)
+	public List<Product> getTrendingProducts(int limit, TrendingWindow window) {
+		if (!trendingIndex.isReady()) {
+			List<Product> products = new ArrayList<>(productRepository.findByIsForceTrendingTrueAndAvailableTrue());
+			statsRepository.findTopTrendingProducts(PageRequest.of(0, limit)).stream().map(ProductStats::getProduct)
+					.filter(p -> !Boolean.TRUE.equals(p.getIsForceTrending())).forEach(products::add);
+			return products.stream().limit(limit).collect(Collectors.toList());
 		}
 
-		// If some products have no stats row, consider them (score 0) only if needed
-		List<Product> candidates = scores.entrySet().stream()
-				.sorted(Map.Entry.<Product, Double>comparingByValue().reversed()).limit(limit).map(Map.Entry::getKey)
-				.collect(Collectors.toList());
-
-		return candidates;
+		List<Long> ids = trendingIndex.top(limit, window);
+		Map<Long, Product> byId = productRepository.findAllById(ids).stream()
+				.collect(Collectors.toMap(Product::getId, p -> p));
+		return ids.stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList());
 	}
 
 }
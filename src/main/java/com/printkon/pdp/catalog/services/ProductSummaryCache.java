@@ -0,0 +1,50 @@
+package com.printkon.pdp.catalog.services;
+
+import com.printkon.pdp.catalog.dto.ProductCounts;
+import com.printkon.pdp.catalog.events.ProductChangedEvent;
+import com.printkon.pdp.catalog.repositories.ProductRepository;
+import com.printkon.pdp.common.cache.ExpiringLruCache;
+import com.printkon.pdp.config.CatalogCacheProperties;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Short-lived cache for the catalog-wide product counters shown on the admin
+ * dashboard. Counts are computed in one aggregate query and dropped after any
+ * committed product write, so refreshes between writes cost nothing.
+ */
+@Component
+public class ProductSummaryCache {
+
+	private static final String KEY = "summary";
+
+	private final ProductRepository productRepository;
+	private final boolean enabled;
+	private final ExpiringLruCache<String, ProductCounts> cache;
+
+	public ProductSummaryCache(ProductRepository productRepository, CatalogCacheProperties properties) {
+		this.productRepository = productRepository;
+		this.enabled = properties.isEnabled();
+		this.cache = new ExpiringLruCache<>("product-summary", 1, properties.getSummaryTtl());
+	}
+
+	public ProductCounts get() {
+		if (!enabled) {
+			return productRepository.countProductSummary();
+		}
+		ProductCounts cached = cache.get(KEY);
+		if (cached != null) {
+			return cached;
+		}
+		long generation = cache.generation();
+		ProductCounts counts = productRepository.countProductSummary();
+		cache.put(KEY, counts, generation);
+		return counts;
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductChanged(ProductChangedEvent event) {
+		cache.invalidateAll();
+	}
+}
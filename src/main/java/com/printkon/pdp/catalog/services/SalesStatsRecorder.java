@@ -0,0 +1,56 @@
+package com.printkon.pdp.catalog.services;
+
+import com.printkon.pdp.order.events.OrderSaleReversedEvent;
+import com.printkon.pdp.order.events.OrderSoldEvent;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.stream.Collectors;
+
+/**
+ * Feeds committed sales into the lifetime sales counters (and with them the
+ * popularity score and trending) and into the daily rollup. Cancelled or
+ * rejected sales are taken back out as negative deltas, the daily rollup on
+ * the day they were counted.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SalesStatsRecorder {
+
+	private final ProductStatsService productStatsService;
+	private final DailyStatsRollup dailyStatsRollup;
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onOrderSold(OrderSoldEvent event) {
+		try {
+			for (OrderSoldEvent.Line line : event.lines()) {
+				productStatsService.incrementSales(line.productId(), line.quantity());
+			}
+			dailyStatsRollup.add(LocalDate.now(), event.lines().stream()
+					.map(line -> DailyStatsRollup.Activity.sale(line.productId(), line.quantity(), line.revenue()))
+					.collect(Collectors.toList()));
+		} catch (Exception e) {
+			log.warn("Failed to record sales statistics for order {}: {}", event.orderId(), e.getMessage());
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onOrderSaleReversed(OrderSaleReversedEvent event) {
+		try {
+			for (OrderSoldEvent.Line line : event.lines()) {
+				productStatsService.incrementSales(line.productId(), -line.quantity());
+			}
+			dailyStatsRollup.add(event.soldOn(), event.lines().stream()
+					.map(line -> DailyStatsRollup.Activity.sale(line.productId(), -line.quantity(),
+							line.revenue() != null ? line.revenue().negate() : null))
+					.collect(Collectors.toList()));
+		} catch (Exception e) {
+			log.warn("Failed to reverse sales statistics for order {}: {}", event.orderId(), e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,146 @@
+package com.printkon.pdp.catalog.services;
+
+import com.printkon.pdp.catalog.events.ProductChangedEvent;
+import com.printkon.pdp.catalog.repositories.ProductRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Collectors;
+
+/**
+ * Stock levels of all available products, kept sorted by quantity so that
+ * low-stock questions ("everything at or below N") are answered from memory.
+ * Loaded at startup and refreshed from the database after each committed
+ * product change. A periodic full reload picks up stock movements made on
+ * other nodes and drops products that are no longer available.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockLevelView implements ApplicationRunner {
+
+	public record StockLevel(String productId, String name, int stockQuantity, boolean available, Long version) {
+	}
+
+	private static final Comparator<StockLevel> BY_STOCK = Comparator.comparingInt(StockLevel::stockQuantity)
+			.thenComparing(StockLevel::productId);
+
+	private final ProductRepository productRepository;
+
+	private final ConcurrentSkipListSet<StockLevel> availableByStock = new ConcurrentSkipListSet<>(BY_STOCK);
+	private final ConcurrentHashMap<String, StockLevel> byProductId = new ConcurrentHashMap<>();
+	private volatile boolean ready;
+
+	@Override
+	public void run(ApplicationArguments args) {
+		reload();
+	}
+
+	@Scheduled(initialDelayString = "${app.catalog.cache.stock-level-resync:PT5M}",
+			fixedDelayString = "${app.catalog.cache.stock-level-resync:PT5M}")
+	public void reload() {
+		long start = System.currentTimeMillis();
+		// Only ids held before the query can be stale; anything added meanwhile came from a committed event
+		Set<String> stale = new HashSet<>(byProductId.keySet());
+		for (Object[] row : productRepository.findAvailableStockLevels()) {
+			apply(row);
+			stale.remove((String) row[0]);
+		}
+		stale.forEach(this::remove);
+		ready = true;
+		log.info("Stock level view loaded {} products in {} ms", availableByStock.size(),
+				System.currentTimeMillis() - start);
+	}
+
+	public boolean isReady() {
+		return ready;
+	}
+
+	public Optional<StockLevel> get(String productId) {
+		return Optional.ofNullable(byProductId.get(productId));
+	}
+
+	/**
+	 * Available products with stock at or below the threshold, lowest first.
+	 */
+	public List<StockLevel> atOrBelow(int threshold, long offset, int limit) {
+		return headAtOrBelow(threshold).stream().skip(offset).limit(limit).collect(Collectors.toList());
+	}
+
+	public int countAtOrBelow(int threshold) {
+		return headAtOrBelow(threshold).size();
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	@Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+	public void onProductChanged(ProductChangedEvent event) {
+		refresh(event.productIds());
+	}
+
+	/**
+	 * Re-reads the given products from the database, for changes this node has
+	 * no event for (stock moved on another node).
+	 */
+	public void refresh(Collection<String> productIds) {
+		if (productIds.isEmpty()) {
+			return;
+		}
+		Set<String> found = new HashSet<>();
+		for (Object[] row : productRepository.findStockLevelsByProductIds(productIds)) {
+			apply(row);
+			found.add((String) row[0]);
+		}
+		productIds.stream().filter(id -> !found.contains(id)).forEach(this::remove);
+	}
+
+	// ------------------ PRIVATE HELPER METHODS ------------------
+
+	private NavigableSet<StockLevel> headAtOrBelow(int threshold) {
+		// Sorts after every real product id with the same quantity
+		return availableByStock.headSet(new StockLevel("\uffff", null, threshold, true, null), true);
+	}
+
+	// row: productId, name, stockQuantity, available, version
+	private void apply(Object[] row) {
+		StockLevel level = new StockLevel((String) row[0], (String) row[1], ((Number) row[2]).intValue(),
+				Boolean.TRUE.equals(row[3]), (Long) row[4]);
+
+		byProductId.compute(level.productId(), (id, existing) -> {
+			if (existing != null && existing.version() != null && level.version() != null
+					&& existing.version() > level.version()) {
+				return existing;
+			}
+			if (existing != null) {
+				availableByStock.remove(existing);
+			}
+			if (level.available()) {
+				availableByStock.add(level);
+			}
+			return level;
+		});
+	}
+
+	private void remove(String productId) {
+		byProductId.computeIfPresent(productId, (id, existing) -> {
+			availableByStock.remove(existing);
+			return null;
+		});
+	}
+}
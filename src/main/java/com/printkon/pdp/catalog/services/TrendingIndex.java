@@ -0,0 +1,241 @@
+package com.printkon.pdp.catalog.services;
+
+import com.printkon.pdp.catalog.events.ProductChangedEvent;
+import com.printkon.pdp.catalog.repositories.ProductRepository;
+import com.printkon.pdp.common.enums.TrendingWindow;
+import com.printkon.pdp.config.TrendingProperties;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Collectors;
+
+/**
+ * Trending ranking of all available products, kept sorted by score so that the
+ * top k are read in O(k). Scores move with the stat deltas as they are
+ * written (buffered views and wishlist adds, sales); product changes reload the
+ * affected rows. Force-trending products are kept in a separate pinned set that
+ * is served ahead of the ranking.
+ *
+ * <p>
+ * Deltas are only seen by the instance that wrote them, so the ranking is
+ * reloaded from the database every {@code app.catalog.trending.resync-interval}.
+ * The same deltas feed {@link TrendingWindows}, from which the 1h / 24h / 7d
+ * rankings are recomputed every {@code window-refresh-interval}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TrendingIndex implements ApplicationRunner {
+
+	private record Entry(Long id, String productId, long sales, long views, long wishlist, boolean pinned,
+			double score) {
+
+		Entry plus(long salesDelta, long viewsDelta, long wishlistDelta, double scoreDelta) {
+			return new Entry(id, productId, sales + salesDelta, views + viewsDelta, wishlist + wishlistDelta, pinned,
+					score + scoreDelta);
+		}
+	}
+
+	private record Ranked(Long id, double score) {
+	}
+
+	private static final Comparator<Entry> BY_SCORE = Comparator.comparingDouble(Entry::score).reversed()
+			.thenComparing(Entry::id);
+	private static final Comparator<Ranked> BY_RANKED_SCORE = Comparator.comparingDouble(Ranked::score)
+			.thenComparing(Ranked::id, Comparator.reverseOrder());
+
+	private final ProductRepository productRepository;
+	private final TrendingWindows trendingWindows;
+	private final PopularityModel popularityModel;
+	private final TrendingProperties properties;
+
+	private final ConcurrentHashMap<Long, Entry> byId = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, Long> idsByProductId = new ConcurrentHashMap<>();
+	private final ConcurrentSkipListSet<Entry> ranked = new ConcurrentSkipListSet<>(BY_SCORE);
+	private final ConcurrentSkipListSet<Entry> pinned = new ConcurrentSkipListSet<>(BY_SCORE);
+	private volatile Map<TrendingWindow, List<Long>> windowRankings = Map.of();
+	private volatile boolean ready;
+
+	@Override
+	public void run(ApplicationArguments args) {
+		trendingWindows.load();
+		reload();
+		refreshWindows();
+	}
+
+	public boolean isReady() {
+		return ready;
+	}
+
+	/**
+	 * Internal ids of the top products: pinned ones first, then by lifetime
+	 * score, or by decayed activity within the window if one is given.
+	 */
+	public List<Long> top(int limit, TrendingWindow window) {
+		List<Long> ids = new ArrayList<>(limit);
+		for (Entry entry : pinned) {
+			if (ids.size() == limit) {
+				return ids;
+			}
+			ids.add(entry.id());
+		}
+		if (window == null) {
+			for (Entry entry : ranked) {
+				if (ids.size() == limit) {
+					break;
+				}
+				ids.add(entry.id());
+			}
+			return ids;
+		}
+		for (Long id : windowRankings.getOrDefault(window, List.of())) {
+			if (ids.size() == limit) {
+				break;
+			}
+			Entry entry = byId.get(id);
+			// Skip products made unavailable or pinned since the last refresh
+			if (entry != null && !entry.pinned()) {
+				ids.add(id);
+			}
+		}
+		return ids;
+	}
+
+	/**
+	 * Moves a product by stat deltas that were just written and records them as
+	 * recent activity. Products not in the ranking (unavailable, or not loaded
+	 * yet) keep their activity but are not ranked.
+	 */
+	public void applyDelta(Long id, long sales, long views, long wishlist) {
+		double amount = popularityModel.score(sales, views, wishlist);
+		trendingWindows.record(id, amount);
+		byId.computeIfPresent(id, (key, existing) -> {
+			Entry updated = existing.plus(sales, views, wishlist, amount);
+			unlink(existing);
+			link(updated);
+			return updated;
+		});
+	}
+
+	@Scheduled(initialDelayString = "${app.catalog.trending.resync-interval:PT10M}",
+			fixedDelayString = "${app.catalog.trending.resync-interval:PT10M}")
+	public void reload() {
+		long start = System.currentTimeMillis();
+		// Only ids held before the query can be stale; anything added meanwhile came from a committed event
+		Set<Long> stale = new HashSet<>(byId.keySet());
+		for (Object[] row : productRepository.findAvailableTrendingRows()) {
+			stale.remove(apply(row));
+		}
+		stale.forEach(this::remove);
+		ready = true;
+		log.info("Trending index loaded {} products ({} pinned) in {} ms", byId.size(), pinned.size(),
+				System.currentTimeMillis() - start);
+	}
+
+	/**
+	 * Recomputes the top {@code window-size} unpinned products of each window
+	 * with a bounded min-heap.
+	 */
+	@Scheduled(initialDelayString = "${app.catalog.trending.window-refresh-interval:PT1M}",
+			fixedDelayString = "${app.catalog.trending.window-refresh-interval:PT1M}")
+	public void refreshWindows() {
+		int size = Math.max(1, properties.getWindowSize());
+		Map<TrendingWindow, List<Long>> rankings = new EnumMap<>(TrendingWindow.class);
+		for (TrendingWindow window : TrendingWindow.values()) {
+			PriorityQueue<Ranked> heap = new PriorityQueue<>(size + 1, BY_RANKED_SCORE);
+			trendingWindows.forEachScore(window, (id, score) -> {
+				Entry entry = byId.get(id);
+				if (entry == null || entry.pinned()) {
+					return;
+				}
+				heap.offer(new Ranked(id, score));
+				if (heap.size() > size) {
+					heap.poll();
+				}
+			});
+			List<Ranked> top = new ArrayList<>(heap);
+			top.sort(BY_RANKED_SCORE.reversed());
+			rankings.put(window, top.stream().map(Ranked::id).collect(Collectors.toList()));
+		}
+		windowRankings = rankings;
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	@Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+	public void onProductChanged(ProductChangedEvent event) {
+		if (event.productIds().isEmpty()) {
+			return;
+		}
+		Set<String> found = new HashSet<>();
+		for (Object[] row : productRepository.findTrendingRowsByProductIds(event.productIds())) {
+			apply(row);
+			found.add((String) row[1]);
+		}
+		event.productIds().stream().filter(id -> !found.contains(id)).map(idsByProductId::get)
+				.filter(Objects::nonNull).forEach(this::remove);
+	}
+
+	// ------------------ PRIVATE HELPER METHODS ------------------
+
+	// row: id, productId, available, isForceTrending, salesCount, viewsCount, wishlistCount
+	private Long apply(Object[] row) {
+		Long id = (Long) row[0];
+		if (!Boolean.TRUE.equals(row[2])) {
+			remove(id);
+			return id;
+		}
+		long sales = count(row[4]);
+		long views = count(row[5]);
+		long wishlist = count(row[6]);
+		Entry entry = new Entry(id, (String) row[1], sales, views, wishlist, Boolean.TRUE.equals(row[3]),
+				popularityModel.score(sales, views, wishlist));
+		byId.compute(id, (key, existing) -> {
+			if (existing != null) {
+				unlink(existing);
+			}
+			link(entry);
+			return entry;
+		});
+		idsByProductId.put(entry.productId(), id);
+		return id;
+	}
+
+	private void remove(Long id) {
+		byId.computeIfPresent(id, (key, existing) -> {
+			unlink(existing);
+			idsByProductId.remove(existing.productId(), id);
+			return null;
+		});
+	}
+
+	private void link(Entry entry) {
+		(entry.pinned() ? pinned : ranked).add(entry);
+	}
+
+	private void unlink(Entry entry) {
+		(entry.pinned() ? pinned : ranked).remove(entry);
+	}
+
+	private static long count(Object value) {
+		return value != null ? ((Number) value).longValue() : 0L;
+	}
+}
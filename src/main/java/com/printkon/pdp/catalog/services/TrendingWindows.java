@@ -0,0 +1,191 @@
+package com.printkon.pdp.catalog.services;
+
+import com.printkon.pdp.catalog.models.ProductTrendBuckets;
+import com.printkon.pdp.catalog.repositories.ProductTrendBucketsRepository;
+import com.printkon.pdp.common.enums.TrendingWindow;
+import com.printkon.pdp.config.IdGeneratorProperties;
+import com.printkon.pdp.config.TrendingProperties;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ObjDoubleConsumer;
+
+/**
+ * Recent activity per product in rolling minute / hour / day buckets, scored
+ * with exponential decay for the 1h, 24h and 7d trending windows. Buckets
+ * are saved to {@code product_trend_buckets} periodically and on shutdown,
+ * one row per product and node, and loaded back at startup, so a restart does
+ * not reset trends. Each node records its own activity and, after every save,
+ * re-reads the other nodes' rows and adds them into the scores, so windows are
+ * cluster-wide with at most a persist interval of lag.
+ */
+@Slf4j
+@Component
+public class TrendingWindows {
+
+	private static final long MILLIS_PER_MINUTE = 60_000L;
+
+	private final ProductTrendBucketsRepository repository;
+	private final Map<TrendingWindow, double[]> decay = new EnumMap<>(TrendingWindow.class);
+	private final int nodeId;
+	// Activity recorded on this node, the only buckets persisted from here
+	private final ConcurrentHashMap<Long, ActivityBuckets> buckets = new ConcurrentHashMap<>();
+	// Other nodes' persisted activity summed per product, replaced whole on each refresh
+	private volatile Map<Long, ActivityBuckets> peers = Map.of();
+
+	public TrendingWindows(ProductTrendBucketsRepository repository, TrendingProperties properties,
+			IdGeneratorProperties idProperties) {
+		this.repository = repository;
+		this.nodeId = idProperties.getNodeId();
+		decay.put(TrendingWindow.HOUR,
+				decayFactors(ActivityBuckets.MINUTES, Duration.ofMinutes(1), properties.getHourHalfLife()));
+		decay.put(TrendingWindow.DAY,
+				decayFactors(ActivityBuckets.HOURS, Duration.ofHours(1), properties.getDayHalfLife()));
+		decay.put(TrendingWindow.WEEK,
+				decayFactors(ActivityBuckets.DAYS, Duration.ofDays(1), properties.getWeekHalfLife()));
+	}
+
+	public void record(Long productId, double amount) {
+		if (amount <= 0) {
+			return;
+		}
+		long minute = currentMinute();
+		buckets.computeIfAbsent(productId, id -> new ActivityBuckets(minute)).add(minute, (float) amount);
+	}
+
+	/**
+	 * Calls back with the decayed score of every product active in the window.
+	 */
+	public void forEachScore(TrendingWindow window, ObjDoubleConsumer<Long> consumer) {
+		long minute = currentMinute();
+		double[] factors = decay.get(window);
+		Map<Long, ActivityBuckets> others = peers;
+		buckets.forEach((productId, activity) -> {
+			ActivityBuckets peer = others.get(productId);
+			double score = activity.score(window, minute, factors)
+					+ (peer != null ? peer.score(window, minute, factors) : 0);
+			if (score > 0) {
+				consumer.accept(productId, score);
+			}
+		});
+		others.forEach((productId, peer) -> {
+			if (!buckets.containsKey(productId)) {
+				double score = peer.score(window, minute, factors);
+				if (score > 0) {
+					consumer.accept(productId, score);
+				}
+			}
+		});
+	}
+
+	public void load() {
+		long start = System.currentTimeMillis();
+		List<ProductTrendBuckets> rows = repository
+				.findByUpdatedAtAfter(LocalDateTime.now().minusDays(ActivityBuckets.DAYS));
+		for (ProductTrendBuckets row : rows) {
+			if (isOwn(row) && row.getBuckets().length == ActivityBuckets.SERIALIZED_BYTES) {
+				buckets.putIfAbsent(row.getProductId(), ActivityBuckets.fromBytes(row.getBuckets()));
+			}
+		}
+		peers = sumPeers(rows);
+		log.info("Loaded trend buckets of {} products ({} from other nodes) in {} ms", buckets.size(),
+				peers.size(), System.currentTimeMillis() - start);
+	}
+
+	/**
+	 * Saves the buckets changed since the last run and drops products without
+	 * activity in the last week.
+	 */
+	@Scheduled(initialDelayString = "${app.catalog.trending.persist-interval:PT5M}",
+			fixedDelayString = "${app.catalog.trending.persist-interval:PT5M}")
+	public synchronized void persist() {
+		long minute = currentMinute();
+		LocalDateTime now = LocalDateTime.now();
+		List<ProductTrendBuckets> rows = new ArrayList<>();
+		List<ActivityBuckets> drained = new ArrayList<>();
+
+		buckets.forEach((productId, activity) -> {
+			if (activity.isIdle(minute)) {
+				buckets.remove(productId, activity);
+				return;
+			}
+			byte[] bytes = activity.drainIfDirty();
+			if (bytes != null) {
+				rows.add(ProductTrendBuckets.builder().productId(productId).nodeId(nodeId).buckets(bytes)
+						.updatedAt(now).build());
+				drained.add(activity);
+			}
+		});
+
+		try {
+			repository.saveAll(rows);
+			repository.deleteUpdatedBefore(now.minusDays(ActivityBuckets.DAYS));
+			log.debug("Persisted trend buckets of {} products", rows.size());
+		} catch (DataAccessException e) {
+			drained.forEach(ActivityBuckets::markDirty);
+			log.warn("Persisting trend buckets of {} products failed, retrying next run: {}", rows.size(),
+					e.getMostSpecificCause().getMessage());
+		}
+
+		try {
+			peers = sumPeers(repository.findByUpdatedAtAfter(now.minusDays(ActivityBuckets.DAYS)));
+		} catch (DataAccessException e) {
+			log.warn("Reading other nodes' trend buckets failed, keeping the previous ones: {}",
+					e.getMostSpecificCause().getMessage());
+		}
+	}
+
+	@PreDestroy
+	public void persistOnShutdown() {
+		try {
+			persist();
+		} catch (Exception e) {
+			log.warn("Final save of trend buckets failed: {}", e.getMessage());
+		}
+	}
+
+	// ------------------ PRIVATE HELPER METHODS ------------------
+
+	private boolean isOwn(ProductTrendBuckets row) {
+		return row.getNodeId() != null && row.getNodeId() == nodeId;
+	}
+
+	private Map<Long, ActivityBuckets> sumPeers(List<ProductTrendBuckets> rows) {
+		Map<Long, ActivityBuckets> summed = new HashMap<>();
+		for (ProductTrendBuckets row : rows) {
+			if (!isOwn(row) && row.getBuckets().length == ActivityBuckets.SERIALIZED_BYTES) {
+				ActivityBuckets activity = ActivityBuckets.fromBytes(row.getBuckets());
+				ActivityBuckets existing = summed.putIfAbsent(row.getProductId(), activity);
+				if (existing != null) {
+					existing.addAll(activity);
+				}
+			}
+		}
+		return summed;
+	}
+
+	private static long currentMinute() {
+		return System.currentTimeMillis() / MILLIS_PER_MINUTE;
+	}
+
+	private static double[] decayFactors(int slots, Duration slotLength, Duration halfLife) {
+		double halfLives = (double) slotLength.toMillis() / Math.max(1, halfLife.toMillis());
+		double[] factors = new double[slots];
+		for (int age = 0; age < slots; age++) {
+			factors[age] = Math.pow(0.5, age * halfLives);
+		}
+		return factors;
+	}
+}
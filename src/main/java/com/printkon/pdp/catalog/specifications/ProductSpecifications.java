@@ -7,11 +7,21 @@ import org.springframework.util.StringUtils;
 
 import jakarta.persistence.criteria.Predicate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 public class ProductSpecifications {
 
 	public static Specification<Product> withSearchCriteria(ProductSearchRequest searchRequest) {
+		return withSearchCriteria(searchRequest, null);
+	}
+
+	/**
+	 * Same filters, but with the text query already resolved to product ids by the
+	 * search index. A {@code null} id set falls back to LIKE matching.
+	 */
+	public static Specification<Product> withSearchCriteria(ProductSearchRequest searchRequest,
+			Collection<Long> matchingIds) {
 		return (root, query, criteriaBuilder) -> {
 			List<Predicate> predicates = new ArrayList<>();
 
@@ -23,7 +33,9 @@ public class ProductSpecifications {
 			}
 
 			// Search query
-			if (StringUtils.hasText(searchRequest.getQuery())) {
+			if (matchingIds != null) {
+				predicates.add(root.get("id").in(matchingIds));
+			} else if (StringUtils.hasText(searchRequest.getQuery())) {
 				String searchTerm = "%" + searchRequest.getQuery().toLowerCase() + "%";
 				Predicate namePredicate = criteriaBuilder.like(criteriaBuilder.lower(root.get("name")), searchTerm);
 				Predicate descriptionPredicate = criteriaBuilder.like(criteriaBuilder.lower(root.get("description")),
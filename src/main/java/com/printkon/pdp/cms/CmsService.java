@@ -1,12 +1,14 @@
 package com.printkon.pdp.cms;
 
 import com.printkon.pdp.cms.dto.*;
+import com.printkon.pdp.cms.events.LandingContentChangedEvent;
 import com.printkon.pdp.cms.models.*;
 import com.printkon.pdp.cms.repositories.*;
 
 import com.printkon.pdp.common.dto.ResponseStructure;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -25,6 +27,7 @@ public class CmsService {
 	private final PrintingServiceRepository printingServiceRepository;
 	private final TestimonialRepository testimonialRepository;
 	private final LandingStatRepository landingStatRepository;
+	private final ApplicationEventPublisher eventPublisher;
 
 	// ---------- Core Data (Above-the-fold) ----------
 	@Transactional(readOnly = true)
@@ -76,6 +79,7 @@ public class CmsService {
 				.orderIndex(req.getOrderIndex() == null ? 0 : req.getOrderIndex())
 				.enabled(req.getEnabled() == null ? true : req.getEnabled()).build();
 		Feature saved = featureRepository.save(f);
+		publishChange("features");
 		return buildResponse("Feature created", toFeatureDto(saved), HttpStatus.CREATED);
 	}
 
@@ -92,11 +96,13 @@ public class CmsService {
 		if (req.getEnabled() != null)
 			f.setEnabled(req.getEnabled());
 		Feature saved = featureRepository.save(f);
+		publishChange("features");
 		return buildResponse("Feature updated", toFeatureDto(saved), HttpStatus.OK);
 	}
 
 	public ResponseEntity<ResponseStructure<String>> deleteFeature(Long id) {
 		featureRepository.deleteById(id);
+		publishChange("features");
 		return buildResponse("Feature deleted", "Feature removed", HttpStatus.OK);
 	}
 
@@ -107,6 +113,7 @@ public class CmsService {
 				.orderIndex(req.getOrderIndex() == null ? 0 : req.getOrderIndex())
 				.enabled(req.getEnabled() == null ? true : req.getEnabled()).build();
 		PrintingServiceEntity saved = printingServiceRepository.save(ent);
+		publishChange("printing-services");
 		return buildResponse("Printing service created", toPrintingServiceDto(saved), HttpStatus.CREATED);
 	}
 
@@ -115,6 +122,7 @@ public class CmsService {
 				.imageUrl(req.getImageUrl()).orderIndex(req.getOrderIndex() == null ? 0 : req.getOrderIndex())
 				.enabled(req.getEnabled() == null ? true : req.getEnabled()).build();
 		Testimonial saved = testimonialRepository.save(t);
+		publishChange("testimonials");
 		return buildResponse("Testimonial created", toTestimonialDto(saved), HttpStatus.CREATED);
 	}
 
@@ -124,6 +132,7 @@ public class CmsService {
 				.orderIndex(req.getOrderIndex() == null ? 0 : req.getOrderIndex())
 				.enabled(req.getEnabled() == null ? true : req.getEnabled()).build();
 		LandingStat saved = landingStatRepository.save(s);
+		publishChange("stats");
 		return buildResponse("Stat created", saved, HttpStatus.CREATED);
 	}
 
@@ -148,6 +157,11 @@ public class CmsService {
 				.enabled(s.getEnabled()).orderIndex(s.getOrderIndex()).build();
 	}
 
+	// Cached public landing responses are dropped once the write commits
+	private void publishChange(String section) {
+		eventPublisher.publishEvent(new LandingContentChangedEvent(section));
+	}
+
 	private <T> ResponseEntity<ResponseStructure<T>> buildResponse(String message, T data, HttpStatus status) {
 		ResponseStructure<T> s = ResponseStructure.<T>builder().statusCode(status.value()).message(message).data(data)
 				.timestamp(LocalDateTime.now()).build();
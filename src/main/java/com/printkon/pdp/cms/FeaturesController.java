@@ -2,24 +2,32 @@ package com.printkon.pdp.cms;
 
 import com.printkon.pdp.cms.dto.FeatureRequest;
 import com.printkon.pdp.cms.dto.FeatureResponse;
+import com.printkon.pdp.common.cache.EncodedResponseCache;
+import com.printkon.pdp.common.cache.EncodedResponseCache.Group;
 import com.printkon.pdp.common.dto.ResponseStructure;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.io.IOException;
 
 @RestController
 @RequestMapping("/api/landing/features")
 @RequiredArgsConstructor
 public class FeaturesController {
 
+	// Encoded response cache key, shared with the startup warm-up
+	public static final String CACHE_KEY = "features";
+
 	private final CmsService cmsService;
+	private final EncodedResponseCache responseCache;
 
 	@GetMapping
-	public ResponseEntity<ResponseStructure<List<FeatureResponse>>> getFeatures() {
-		return cmsService.getFeatures();
+	public void getFeatures(HttpServletRequest request, HttpServletResponse response) throws IOException {
+		responseCache.write(Group.LANDING, CACHE_KEY, request, response, cmsService::getFeatures);
 	}
 
 	@PostMapping
@@ -2,24 +2,32 @@ package com.printkon.pdp.cms;
 
 import com.printkon.pdp.cms.dto.PrintingServiceRequest;
 import com.printkon.pdp.cms.dto.PrintingServiceResponse;
+import com.printkon.pdp.common.cache.EncodedResponseCache;
+import com.printkon.pdp.common.cache.EncodedResponseCache.Group;
 import com.printkon.pdp.common.dto.ResponseStructure;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.io.IOException;
 
 @RestController
 @RequestMapping("/api/landing/printing-services")
 @RequiredArgsConstructor
 public class PrintingServicesController {
 
+	// Encoded response cache key, shared with the startup warm-up
+	public static final String CACHE_KEY = "printing-services";
+
 	private final CmsService cmsService;
+	private final EncodedResponseCache responseCache;
 
 	@GetMapping
-	public ResponseEntity<ResponseStructure<List<PrintingServiceResponse>>> getPrintingServices() {
-		return cmsService.getPrintingServices();
+	public void getPrintingServices(HttpServletRequest request, HttpServletResponse response) throws IOException {
+		responseCache.write(Group.LANDING, CACHE_KEY, request, response, cmsService::getPrintingServices);
 	}
 
 	@PostMapping
@@ -1,26 +1,33 @@
 package com.printkon.pdp.cms;
 
 import com.printkon.pdp.cms.dto.StatRequest;
-import com.printkon.pdp.cms.dto.StatResponse;
 import com.printkon.pdp.cms.models.LandingStat;
+import com.printkon.pdp.common.cache.EncodedResponseCache;
+import com.printkon.pdp.common.cache.EncodedResponseCache.Group;
 import com.printkon.pdp.common.dto.ResponseStructure;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.io.IOException;
 
 @RestController
 @RequestMapping("/api/landing/stats")
 @RequiredArgsConstructor
 public class StatsController {
 
+	// Encoded response cache key, shared with the startup warm-up
+	public static final String CACHE_KEY = "stats";
+
 	private final CmsService cmsService;
+	private final EncodedResponseCache responseCache;
 
 	@GetMapping
-	public ResponseEntity<ResponseStructure<List<StatResponse>>> getStats() {
-		return cmsService.getStats();
+	public void getStats(HttpServletRequest request, HttpServletResponse response) throws IOException {
+		responseCache.write(Group.LANDING, CACHE_KEY, request, response, cmsService::getStats);
 	}
 
 	@PostMapping
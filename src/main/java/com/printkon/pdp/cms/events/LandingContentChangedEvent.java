@@ -0,0 +1,8 @@
+package com.printkon.pdp.cms.events;
+
+/**
+ * Published by {@code CmsService} after a landing page section (features,
+ * printing services, testimonials, stats) is modified.
+ */
+public record LandingContentChangedEvent(String section) {
+}
@@ -0,0 +1,174 @@
+package com.printkon.pdp.common.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.printkon.pdp.catalog.events.CategoryChangedEvent;
+import com.printkon.pdp.catalog.events.ProductChangedEvent;
+import com.printkon.pdp.cms.events.LandingContentChangedEvent;
+import com.printkon.pdp.config.ResponseCacheProperties;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Already-encoded JSON bodies of public responses that are the same for every
+ * caller. A hit is copied straight to the servlet output stream, skipping DTO
+ * mapping and Jackson; larger bodies are also kept gzip-compressed for clients
+ * that accept it. Each group is dropped as a whole after the admin writes that
+ * feed it commit.
+ */
+@Slf4j
+@Component
+public class EncodedResponseCache {
+
+	public enum Group {
+		LANDING, CATEGORIES, PRODUCT_LISTS
+	}
+
+	private record EncodedBody(byte[] json, byte[] gzip) {
+	}
+
+	private final boolean enabled;
+	private final int gzipMinBytes;
+	private final ObjectMapper objectMapper;
+	private final Map<Group, ExpiringLruCache<String, EncodedBody>> caches = new EnumMap<>(Group.class);
+
+	public EncodedResponseCache(ResponseCacheProperties properties, ObjectMapper objectMapper) {
+		this.enabled = properties.isEnabled();
+		this.gzipMinBytes = properties.getGzipMinBytes();
+		this.objectMapper = objectMapper;
+		caches.put(Group.LANDING, cache("landing-responses", properties.getMaxEntries(), properties.getLandingTtl()));
+		caches.put(Group.CATEGORIES,
+				cache("category-responses", properties.getMaxEntries(), properties.getCategoryTtl()));
+		caches.put(Group.PRODUCT_LISTS,
+				cache("product-list-responses", properties.getMaxEntries(), properties.getProductListTtl()));
+	}
+
+	/**
+	 * Writes the cached body for the key, or loads, encodes and caches it first.
+	 * Only 200 responses are cached; the loader may throw as usual since nothing
+	 * has been written yet.
+	 */
+	public void write(Group group, String key, HttpServletRequest request, HttpServletResponse response,
+			Supplier<? extends ResponseEntity<?>> loader) throws IOException {
+		EncodedBody body = enabled ? caches.get(group).get(key) : null;
+		int status = HttpStatus.OK.value();
+
+		if (body == null) {
+			long generation = caches.get(group).generation();
+			ResponseEntity<?> entity = loader.get();
+			status = entity.getStatusCode().value();
+			body = encodeAndCache(group, key, entity, generation);
+		}
+
+		response.setStatus(status);
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+		byte[] bytes = body.json();
+		if (body.gzip() != null && acceptsGzip(request)) {
+			response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+			bytes = body.gzip();
+		}
+		response.setContentLength(bytes.length);
+		response.getOutputStream().write(bytes);
+	}
+
+	/**
+	 * Loads and caches a body ahead of the first request, e.g. during warm-up.
+	 */
+	public void preload(Group group, String key, Supplier<? extends ResponseEntity<?>> loader) {
+		if (enabled) {
+			long generation = caches.get(group).generation();
+			encodeAndCache(group, key, loader.get(), generation);
+		}
+	}
+
+	public void invalidate(Group group) {
+		caches.get(group).invalidateAll();
+	}
+
+	// ------------------ EVENTS ------------------
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onLandingContentChanged(LandingContentChangedEvent event) {
+		log.debug("Landing section {} changed, dropping encoded landing responses", event.section());
+		invalidate(Group.LANDING);
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductChanged(ProductChangedEvent event) {
+		// Checkouts move stock on every order; cached lists pick it up within their TTL
+		if (event.type() == ProductChangedEvent.ChangeType.STOCK) {
+			return;
+		}
+		// Category responses embed product counts
+		invalidate(Group.CATEGORIES);
+		invalidate(Group.PRODUCT_LISTS);
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCategoryChanged(CategoryChangedEvent event) {
+		invalidate(Group.CATEGORIES);
+		invalidate(Group.PRODUCT_LISTS);
+	}
+
+	// ------------------ PRIVATE HELPER METHODS ------------------
+
+	private static ExpiringLruCache<String, EncodedBody> cache(String name, int maxEntries, Duration ttl) {
+		return new ExpiringLruCache<>(name, maxEntries, ttl);
+	}
+
+	private EncodedBody encodeAndCache(Group group, String key, ResponseEntity<?> entity, long loadedAt) {
+		EncodedBody body = encode(entity.getBody());
+		if (enabled && entity.getStatusCode().value() == HttpStatus.OK.value()) {
+			caches.get(group).put(key, body, loadedAt);
+		}
+		return body;
+	}
+
+	private EncodedBody encode(Object body) {
+		try {
+			byte[] json = objectMapper.writeValueAsBytes(body);
+			return new EncodedBody(json, json.length >= gzipMinBytes ? gzip(json) : null);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to encode response body", e);
+		}
+	}
+
+	private static byte[] gzip(byte[] json) throws IOException {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 4);
+		try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+			gzip.write(json);
+		}
+		return buffer.toByteArray();
+	}
+
+	private static boolean acceptsGzip(HttpServletRequest request) {
+		String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+		if (acceptEncoding == null) {
+			return false;
+		}
+		for (String coding : acceptEncoding.split(",")) {
+			String[] parts = coding.trim().split(";");
+			if (parts[0].trim().equalsIgnoreCase("gzip")) {
+				return parts.length == 1 || !parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+			}
+		}
+		return false;
+	}
+}
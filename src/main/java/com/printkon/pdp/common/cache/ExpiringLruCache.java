@@ -0,0 +1,172 @@
+package com.printkon.pdp.common.cache;
+
+import com.printkon.pdp.common.dto.CacheStatsResponse;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+
+/**
+ * Small in-process cache bounded by entry count (least-recently-used eviction)
+ * and by time-to-live. Every invalidation bumps a generation counter so that
+ * readers which loaded a value before a concurrent write cannot put stale data
+ * back afterwards (see {@link #put(Object, Object, long)}).
+ */
+public class ExpiringLruCache<K, V> {
+
+	private final String name;
+	private final int maxSize;
+	private final long ttlNanos;
+	private final BiPredicate<V, V> supersedes;
+
+	private final LinkedHashMap<K, Entry<V>> entries;
+	private final AtomicLong generation = new AtomicLong();
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+	private final LongAdder expirations = new LongAdder();
+	private final LongAdder invalidations = new LongAdder();
+
+	public ExpiringLruCache(String name, int maxSize, Duration ttl) {
+		this(name, maxSize, ttl, (candidate, existing) -> true);
+	}
+
+	/**
+	 * @param supersedes decides whether a new value may replace an existing one
+	 *                   (candidate, existing); used for version-aware caches
+	 */
+	public ExpiringLruCache(String name, int maxSize, Duration ttl, BiPredicate<V, V> supersedes) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("Cache size must be positive");
+		}
+		this.name = name;
+		this.maxSize = maxSize;
+		this.ttlNanos = ttl.toNanos();
+		this.supersedes = supersedes;
+		this.entries = new LinkedHashMap<>(Math.min(maxSize, 1024), 0.75f, true);
+	}
+
+	public V get(K key) {
+		synchronized (entries) {
+			Entry<V> entry = entries.get(key);
+			if (entry == null) {
+				misses.increment();
+				return null;
+			}
+			if (entry.isExpired(System.nanoTime())) {
+				entries.remove(key);
+				expirations.increment();
+				misses.increment();
+				return null;
+			}
+			hits.increment();
+			return entry.value;
+		}
+	}
+
+	/**
+	 * Current invalidation generation. Capture it before loading a value from the
+	 * database and pass it to {@link #put(Object, Object, long)}.
+	 */
+	public long generation() {
+		return generation.get();
+	}
+
+	public void put(K key, V value) {
+		put(key, value, generation.get());
+	}
+
+	/**
+	 * Stores the value unless an invalidation happened since {@code loadedAt} was
+	 * captured, or the existing value supersedes it.
+	 *
+	 * @return true if the value was stored
+	 */
+	public boolean put(K key, V value, long loadedAt) {
+		synchronized (entries) {
+			if (generation.get() != loadedAt) {
+				return false;
+			}
+			Entry<V> existing = entries.get(key);
+			if (existing != null && !existing.isExpired(System.nanoTime())
+					&& !supersedes.test(value, existing.value)) {
+				return false;
+			}
+			entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+			evictOverflow();
+			return true;
+		}
+	}
+
+	public void invalidate(K key) {
+		synchronized (entries) {
+			generation.incrementAndGet();
+			if (entries.remove(key) != null) {
+				invalidations.increment();
+			}
+		}
+	}
+
+	public void invalidateAll(Iterable<K> keys) {
+		synchronized (entries) {
+			generation.incrementAndGet();
+			for (K key : keys) {
+				if (entries.remove(key) != null) {
+					invalidations.increment();
+				}
+			}
+		}
+	}
+
+	public void invalidateAll() {
+		synchronized (entries) {
+			generation.incrementAndGet();
+			invalidations.add(entries.size());
+			entries.clear();
+		}
+	}
+
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	public CacheStatsResponse stats() {
+		long hitCount = hits.sum();
+		long missCount = misses.sum();
+		long requests = hitCount + missCount;
+		return CacheStatsResponse.builder().name(name).size(size()).maxSize(maxSize).hits(hitCount)
+				.misses(missCount).hitRate(requests == 0 ? 0.0 : (double) hitCount / requests)
+				.evictions(evictions.sum()).expirations(expirations.sum()).invalidations(invalidations.sum())
+				.build();
+	}
+
+	private void evictOverflow() {
+		if (entries.size() <= maxSize) {
+			return;
+		}
+		long now = System.nanoTime();
+		Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+		while (entries.size() > maxSize && it.hasNext()) {
+			Entry<V> eldest = it.next().getValue();
+			it.remove();
+			if (eldest.isExpired(now)) {
+				expirations.increment();
+			} else {
+				evictions.increment();
+			}
+		}
+	}
+
+	private record Entry<V>(V value, long expiresAtNanos) {
+		boolean isExpired(long now) {
+			return now - expiresAtNanos >= 0;
+		}
+	}
+}
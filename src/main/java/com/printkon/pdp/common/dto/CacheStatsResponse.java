@@ -0,0 +1,22 @@
+package com.printkon.pdp.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CacheStatsResponse {
+	private String name;
+	private int size;
+	private int maxSize;
+	private long hits;
+	private long misses;
+	private double hitRate;
+	private long evictions;
+	private long expirations;
+	private long invalidations;
+}
@@ -0,0 +1,23 @@
+package com.printkon.pdp.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One slice of a cursor-paginated listing. There is no total count; pass
+ * {@code nextCursor} back to fetch the following slice.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPage<T> {
+	private List<T> content;
+	private int size;
+	private boolean hasNext;
+	private String nextCursor;
+}
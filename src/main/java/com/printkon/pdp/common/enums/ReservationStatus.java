@@ -0,0 +1,8 @@
+package com.printkon.pdp.common.enums;
+
+public enum ReservationStatus {
+	RESERVED, // Stock held for an order awaiting payment
+	COMMITTED, // Payment confirmed (or COD), stock consumed by the order
+	RELEASED, // Order cancelled or payment failed, stock returned
+	EXPIRED // Payment window elapsed, stock returned by the sweeper
+}
@@ -0,0 +1,28 @@
+package com.printkon.pdp.common.enums;
+
+import com.printkon.pdp.exceptions.BusinessRuleException;
+
+public enum TrendingWindow {
+	HOUR("1h"), // minute buckets
+	DAY("24h"), // hour buckets
+	WEEK("7d"); // day buckets
+
+	private final String param;
+
+	TrendingWindow(String param) {
+		this.param = param;
+	}
+
+	public String param() {
+		return param;
+	}
+
+	public static TrendingWindow fromParam(String param) {
+		for (TrendingWindow window : values()) {
+			if (window.param.equalsIgnoreCase(param.trim())) {
+				return window;
+			}
+		}
+		throw new BusinessRuleException("Unsupported trending window: " + param + " (use 1h, 24h or 7d)");
+	}
+}
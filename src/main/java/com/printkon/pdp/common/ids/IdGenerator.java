@@ -0,0 +1,18 @@
+package com.printkon.pdp.common.ids;
+
+/**
+ * Source of the external, human-facing identifiers. Implementations must hand
+ * out distinct values without consulting the database or other instances;
+ * callers may still check for a clash with legacy rows before inserting.
+ */
+public interface IdGenerator {
+
+	// "P" + 9 digits
+	String nextProductId();
+
+	// "CAT" + 5 digits
+	String nextCategoryId();
+
+	// "ORD-yyyyMMdd-" + 4 digits, more once a day runs out of them
+	String nextOrderId();
+}
@@ -0,0 +1,133 @@
+package com.printkon.pdp.common.ids;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.printkon.pdp.config.IdGeneratorProperties;
+
+/**
+ * Coordination-free ids built from a time-derived sequence and the node id:
+ * {@code value = sequence * nodeCount + nodeId}. Each kind keeps one lock-free
+ * counter that moves to the current clock tick, or one past the last value
+ * handed out when ids are requested faster than the clock ticks (it then runs
+ * briefly ahead of the clock and falls back in line once traffic eases). Ids
+ * are therefore unique and increasing per node, and disjoint across nodes.
+ *
+ * <p>
+ * The formats are fixed-width, which bounds the tick sizes:
+ * <ul>
+ * <li>products: one tick per minute since 2025, ~190 years of ids with the
+ * maximum of 10 nodes</li>
+ * <li>categories: one tick per day since 2025, ~270 years per single node</li>
+ * <li>orders: 10,000 slots per calendar day shared by the nodes; a day that
+ * uses them up gets wider numbers (up to 7 digits, the column width) rather
+ * than ids dated the next day</li>
+ * </ul>
+ * A restart right after a burst that outran the clock starts behind the ids
+ * already issued, so callers skip values that exist before inserting.
+ */
+@Component
+public class TimeSequenceIdGenerator implements IdGenerator {
+
+	private static final long EPOCH_MILLIS = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+
+	private static final long PRODUCT_TICK_MILLIS = 60_000L;
+	private static final long PRODUCT_ID_SPACE = 1_000_000_000L;
+
+	private static final long CATEGORY_TICK_MILLIS = 86_400_000L;
+	private static final long CATEGORY_ID_SPACE = 100_000L;
+
+	private static final int ORDER_SLOTS_PER_DAY = 10_000;
+	private static final long ORDER_ID_SPACE = 10_000_000L;
+	// Sequence values per date, far more than the id space so a day never runs into the next
+	private static final long ORDER_DAY_STRIDE = 1L << 32;
+	private static final DateTimeFormatter ORDER_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+	private final int nodeId;
+	private final int nodeCount;
+	private final LongSupplier clock;
+	private final ZoneId zone;
+
+	private final AtomicLong productSequence = new AtomicLong();
+	private final AtomicLong categorySequence = new AtomicLong();
+	// epochDay * ORDER_DAY_STRIDE + slot of day
+	private final AtomicLong orderSequence = new AtomicLong();
+	private final long orderSlotsPerDay;
+
+	@Autowired
+	public TimeSequenceIdGenerator(IdGeneratorProperties properties) {
+		this(properties.getNodeId(), properties.getNodeCount(), System::currentTimeMillis, ZoneId.systemDefault());
+	}
+
+	TimeSequenceIdGenerator(int nodeId, int nodeCount, LongSupplier clock, ZoneId zone) {
+		if (nodeCount < 1 || nodeCount > 10) {
+			throw new IllegalArgumentException("app.ids.node-count must be between 1 and 10, was " + nodeCount);
+		}
+		if (nodeId < 0 || nodeId >= nodeCount) {
+			throw new IllegalArgumentException(
+					"app.ids.node-id must be between 0 and " + (nodeCount - 1) + ", was " + nodeId);
+		}
+		this.nodeId = nodeId;
+		this.nodeCount = nodeCount;
+		this.clock = clock;
+		this.zone = zone;
+		this.orderSlotsPerDay = ORDER_SLOTS_PER_DAY / nodeCount;
+	}
+
+	@Override
+	public String nextProductId() {
+		long tick = (clock.getAsLong() - EPOCH_MILLIS) / PRODUCT_TICK_MILLIS;
+		return pad("P", encode(next(productSequence, tick), PRODUCT_ID_SPACE, "Product"), 9);
+	}
+
+	@Override
+	public String nextCategoryId() {
+		long tick = (clock.getAsLong() - EPOCH_MILLIS) / CATEGORY_TICK_MILLIS;
+		return pad("CAT", encode(next(categorySequence, tick), CATEGORY_ID_SPACE, "Category"), 5);
+	}
+
+	@Override
+	public String nextOrderId() {
+		long now = clock.getAsLong();
+		LocalDate today = LocalDate.ofInstant(Instant.ofEpochMilli(now), zone);
+		long dayStart = today.atStartOfDay(zone).toInstant().toEpochMilli();
+		long dayLength = today.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli() - dayStart;
+		long slot = (now - dayStart) * orderSlotsPerDay / dayLength;
+
+		long sequence = next(orderSequence, today.toEpochDay() * ORDER_DAY_STRIDE + slot);
+		LocalDate date = LocalDate.ofEpochDay(sequence / ORDER_DAY_STRIDE);
+		long number = encode(sequence % ORDER_DAY_STRIDE, ORDER_ID_SPACE, "Order");
+		return pad("ORD-" + date.format(ORDER_DATE) + "-", number, 4);
+	}
+
+	// ------------------ PRIVATE HELPER METHODS ------------------
+
+	private static long next(AtomicLong sequence, long tick) {
+		return sequence.updateAndGet(last -> Math.max(last + 1, tick));
+	}
+
+	private long encode(long sequence, long space, String kind) {
+		long value = sequence * nodeCount + nodeId;
+		if (value >= space) {
+			throw new IllegalStateException(kind + " id space exhausted for node " + nodeId);
+		}
+		return value;
+	}
+
+	// Zero-padded without String.format, which dominates the cost of an id otherwise
+	private static String pad(String prefix, long value, int width) {
+		String digits = Long.toString(value);
+		StringBuilder id = new StringBuilder(prefix.length() + width).append(prefix);
+		for (int i = digits.length(); i < width; i++) {
+			id.append('0');
+		}
+		return id.append(digits).toString();
+	}
+}
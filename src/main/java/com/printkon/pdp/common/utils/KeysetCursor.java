@@ -0,0 +1,156 @@
+package com.printkon.pdp.common.utils;
+
+import com.printkon.pdp.exceptions.BusinessRuleException;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Opaque continuation tokens for cursor pagination. A keyset token carries the
+ * sort field, direction and the last row's key values (sort value plus id), so
+ * the next page is a range scan instead of an OFFSET. Tokens are only valid for
+ * the sort they were issued with.
+ */
+public final class KeysetCursor {
+
+	private static final String KEYSET = "k";
+	private static final String OFFSET = "o";
+	private static final String SEPARATOR = "|";
+
+	private KeysetCursor() {
+	}
+
+	/**
+	 * Builds a single-field sort restricted to the given whitelist of keyset
+	 * columns; Spring Data appends the id as tie-breaker when scrolling.
+	 */
+	public static Sort sort(String sortBy, String sortDirection, String defaultField,
+			Sort.Direction defaultDirection, Map<String, Class<?>> sortableFields) {
+		String field = sortBy != null && !sortBy.isBlank() ? sortBy : defaultField;
+		if (!sortableFields.containsKey(field)) {
+			throw new BusinessRuleException("Cursor pagination supports sorting by " + sortableFields.keySet());
+		}
+		Sort.Direction direction = Sort.Direction.fromOptionalString(sortDirection).orElse(defaultDirection);
+		return Sort.by(direction, field);
+	}
+
+	public static String encode(KeysetScrollPosition position, Sort sort) {
+		Sort.Order order = sort.iterator().next();
+		StringBuilder token = new StringBuilder(KEYSET).append(SEPARATOR).append(order.getProperty())
+				.append(SEPARATOR).append(order.getDirection().name());
+		for (Map.Entry<String, ?> key : position.getKeys().entrySet()) {
+			token.append(SEPARATOR).append(urlEncode(key.getKey())).append('=')
+					.append(urlEncode(format(key.getValue())));
+		}
+		return base64(token.toString());
+	}
+
+	/**
+	 * Decodes a token into a scroll position, or the initial position when the
+	 * token is empty.
+	 */
+	public static ScrollPosition decode(String cursor, Sort sort, Map<String, Class<?>> keyTypes) {
+		if (cursor == null || cursor.isBlank()) {
+			return ScrollPosition.keyset();
+		}
+		String[] parts = unbase64(cursor).split("\\" + SEPARATOR);
+		Sort.Order order = sort.iterator().next();
+		if (parts.length < 4 || !KEYSET.equals(parts[0]) || !order.getProperty().equals(parts[1])
+				|| !order.getDirection().name().equals(parts[2])) {
+			throw new BusinessRuleException("Cursor does not match the requested sort order");
+		}
+
+		Map<String, Object> keys = new LinkedHashMap<>();
+		for (int i = 3; i < parts.length; i++) {
+			int eq = parts[i].indexOf('=');
+			if (eq < 0) {
+				throw invalidCursor();
+			}
+			String name = urlDecode(parts[i].substring(0, eq));
+			Class<?> type = keyTypes.get(name);
+			if (type == null) {
+				throw invalidCursor();
+			}
+			keys.put(name, parse(type, urlDecode(parts[i].substring(eq + 1))));
+		}
+		return ScrollPosition.forward(keys);
+	}
+
+	public static String encodeOffset(long offset) {
+		return base64(OFFSET + SEPARATOR + offset);
+	}
+
+	public static long decodeOffset(String cursor) {
+		if (cursor == null || cursor.isBlank()) {
+			return 0L;
+		}
+		String[] parts = unbase64(cursor).split("\\" + SEPARATOR);
+		if (parts.length != 2 || !OFFSET.equals(parts[0])) {
+			throw new BusinessRuleException("Cursor does not match the requested sort order");
+		}
+		try {
+			return Math.max(0L, Long.parseLong(parts[1]));
+		} catch (NumberFormatException e) {
+			throw invalidCursor();
+		}
+	}
+
+	// ------------------ PRIVATE HELPER METHODS ------------------
+
+	private static String format(Object value) {
+		return value instanceof BigDecimal decimal ? decimal.toPlainString() : String.valueOf(value);
+	}
+
+	private static Object parse(Class<?> type, String raw) {
+		try {
+			if (type == String.class) {
+				return raw;
+			} else if (type == Long.class) {
+				return Long.valueOf(raw);
+			} else if (type == Integer.class) {
+				return Integer.valueOf(raw);
+			} else if (type == BigDecimal.class) {
+				return new BigDecimal(raw);
+			} else if (type == LocalDateTime.class) {
+				return LocalDateTime.parse(raw);
+			}
+		} catch (RuntimeException e) {
+			throw invalidCursor();
+		}
+		throw new IllegalArgumentException("Unsupported keyset type: " + type);
+	}
+
+	private static String base64(String value) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String unbase64(String value) {
+		try {
+			return new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+		} catch (IllegalArgumentException e) {
+			throw invalidCursor();
+		}
+	}
+
+	private static String urlEncode(String value) {
+		return URLEncoder.encode(value, StandardCharsets.UTF_8);
+	}
+
+	private static String urlDecode(String value) {
+		return URLDecoder.decode(value, StandardCharsets.UTF_8);
+	}
+
+	private static BusinessRuleException invalidCursor() {
+		return new BusinessRuleException("Invalid pagination cursor");
+	}
+}
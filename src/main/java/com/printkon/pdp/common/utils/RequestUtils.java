@@ -0,0 +1,22 @@
+package com.printkon.pdp.common.utils;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Helpers for facts about the calling client that proxies and load balancers
+ * move into headers.
+ */
+public final class RequestUtils {
+	private RequestUtils() {
+	}
+
+	/*
+	 * The remote address as resolved by the container. With
+	 * server.forward-headers-strategy=native, Tomcat walks X-Forwarded-For from
+	 * the right and stops at the first hop not added by a trusted proxy, so a
+	 * client cannot pick its own address by sending the header itself.
+	 */
+	public static String clientIp(HttpServletRequest request) {
+		return request.getRemoteAddr();
+	}
+}
@@ -0,0 +1,21 @@
+package com.printkon.pdp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.catalog.bulk")
+public class CatalogBulkProperties {
+
+	// Rows per JDBC batch and per committed transaction
+	private int chunkSize = 1000;
+	// Rows read per keyset query while exporting
+	private int exportFetchSize = 1000;
+	// Row errors kept in the import result; further failures are only counted
+	private int maxReportedErrors = 100;
+}
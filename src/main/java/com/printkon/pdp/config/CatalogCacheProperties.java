@@ -0,0 +1,28 @@
+package com.printkon.pdp.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.catalog.cache")
+public class CatalogCacheProperties {
+
+	private boolean enabled = true;
+	private int productMaxSize = 5000;
+	private Duration productTtl = Duration.ofMinutes(5);
+	private Duration summaryTtl = Duration.ofSeconds(30);
+	// Category tree: counts catch up and other nodes' edits are detected this often; full reload as a fallback
+	private Duration categoryTreeRefresh = Duration.ofSeconds(5);
+	private Duration categoryTreeResync = Duration.ofMinutes(10);
+	// Full reload of the in-memory stock levels, picks up stock moved on other nodes
+	private Duration stockLevelResync = Duration.ofMinutes(5);
+	// Product list validators re-read the product count and latest edit at most this often
+	private Duration validatorRefresh = Duration.ofSeconds(5);
+}
@@ -0,0 +1,29 @@
+package com.printkon.pdp.config;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.catalog.search")
+public class CatalogSearchProperties {
+
+	private boolean indexEnabled = true;
+	// Queries matching more products than this are answered by the database instead of the index
+	private int maxCandidates = 1000;
+	private int indexBatchSize = 500;
+	// Full search index and autocomplete pass over the catalog, picks up writes made on other nodes
+	private Duration indexResync = Duration.ofMinutes(15);
+	private int autocompleteTopK = 10;
+	// Upper bounds of the price histogram buckets in search facets
+	private List<BigDecimal> priceBuckets = List.of(BigDecimal.valueOf(100), BigDecimal.valueOf(500),
+			BigDecimal.valueOf(1000), BigDecimal.valueOf(2500), BigDecimal.valueOf(5000));
+}
@@ -0,0 +1,19 @@
+package com.printkon.pdp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.ids")
+public class IdGeneratorProperties {
+
+	// Unique per running instance, 0 <= nodeId < nodeCount
+	private int nodeId = 0;
+	// Instances sharing the id space (1-10); fewer nodes leave more ids per node
+	private int nodeCount = 1;
+}
@@ -0,0 +1,22 @@
+package com.printkon.pdp.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.inventory")
+public class InventoryProperties {
+
+	// How long stock stays held for an order in PENDING_PAYMENT
+	private Duration reservationTtl = Duration.ofMinutes(15);
+	private Duration sweepInterval = Duration.ofMinutes(1);
+	// Orders expired per sweep transaction
+	private int sweepBatchSize = 100;
+}
@@ -0,0 +1,19 @@
+package com.printkon.pdp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.catalog.popularity")
+public class PopularityProperties {
+
+	// popularity = sales * salesWeight + views * viewsWeight + wishlist adds * wishlistWeight
+	private double salesWeight = 0.6;
+	private double viewsWeight = 0.3;
+	private double wishlistWeight = 0.1;
+}
@@ -0,0 +1,23 @@
+package com.printkon.pdp.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.catalog.stats")
+public class ProductStatsProperties {
+
+	// Buffered view / wishlist counts are written back this often (and on shutdown)
+	private Duration flushInterval = Duration.ofSeconds(5);
+	// Rows per JDBC batch when flushing
+	private int flushBatchSize = 500;
+	// Rating aggregates are checked against product_reviews this often
+	private Duration ratingReconcileInterval = Duration.ofHours(6);
+}
@@ -0,0 +1,26 @@
+package com.printkon.pdp.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.response-cache")
+public class ResponseCacheProperties {
+
+	private boolean enabled = true;
+	// Encoded bodies kept per endpoint group (one per parameter set)
+	private int maxEntries = 64;
+	private Duration landingTtl = Duration.ofMinutes(30);
+	private Duration categoryTtl = Duration.ofMinutes(10);
+	// Popular/trending lists embed live stats, so they are kept briefly
+	private Duration productListTtl = Duration.ofMinutes(1);
+	// Bodies at least this large also get a precompressed gzip copy
+	private int gzipMinBytes = 1024;
+}
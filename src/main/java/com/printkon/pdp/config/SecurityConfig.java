@@ -77,7 +77,7 @@ public class SecurityConfig {
 			corsConfig.setMaxAge(corsProperties.getMaxAge());
 
 			// Expose headers for JWT tokens
-			corsConfig.setExposedHeaders(List.of("Set-Cookie", "Authorization"));
+			corsConfig.setExposedHeaders(List.of("Set-Cookie", "Authorization", "ETag", "Last-Modified"));
 
 			return corsConfig;
 		})).csrf(csrf -> csrf.disable())
@@ -95,6 +95,10 @@ public class SecurityConfig {
 							"/api/products/*", // Get product by ID
 							"/api/products/search", // Search products
 							"/api/products/search/simple",
+							"/api/products/search/scroll", // Cursor-paginated search
+							"/api/products/search/faceted", // Search with facet counts
+							"/api/products/autocomplete", // Typeahead suggestions
+							"/api/products/batch", // Multi-get by product IDs
 							"/api/categories", // Get all categories (FIX)
 							"/api/categories/*", // Get category by ID (FIX)
 							"/api/categories/*/products" // Get products by category (FIX)
@@ -0,0 +1,30 @@
+package com.printkon.pdp.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.catalog.trending")
+public class TrendingProperties {
+
+	// Full reload of the in-memory ranking; picks up other instances' stats and any drift
+	private Duration resyncInterval = Duration.ofMinutes(10);
+
+	// Windowed rankings (1h / 24h / 7d) are recomputed this often
+	private Duration windowRefreshInterval = Duration.ofMinutes(1);
+	// Products kept per windowed ranking
+	private int windowSize = 100;
+	// Activity loses half its weight after this long, per window
+	private Duration hourHalfLife = Duration.ofMinutes(20);
+	private Duration dayHalfLife = Duration.ofHours(6);
+	private Duration weekHalfLife = Duration.ofDays(2);
+	// Rolling buckets are written to product_trend_buckets this often (and on shutdown)
+	private Duration persistInterval = Duration.ofMinutes(5);
+}
@@ -0,0 +1,24 @@
+package com.printkon.pdp.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.warmup")
+public class WarmupProperties {
+
+	private boolean enabled = true;
+	// Warm-up tasks run concurrently on at most this many threads
+	private int parallelism = 3;
+	// Readiness is held back at most this long; unfinished tasks are cancelled
+	private Duration timeout = Duration.ofSeconds(60);
+	// Most popular products preloaded into the product detail cache
+	private int topProducts = 200;
+}
@@ -0,0 +1,207 @@
+package com.printkon.pdp.inventory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.printkon.pdp.catalog.events.ProductChangedEvent;
+import com.printkon.pdp.catalog.events.ProductChangedEvent.ChangeType;
+import com.printkon.pdp.catalog.repositories.ProductRepository;
+import com.printkon.pdp.catalog.services.StockLevelView;
+import com.printkon.pdp.common.enums.ReservationStatus;
+import com.printkon.pdp.config.InventoryProperties;
+import com.printkon.pdp.exceptions.BusinessRuleException;
+import com.printkon.pdp.inventory.models.StockReservation;
+import com.printkon.pdp.inventory.repositories.StockReservationRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Holds stock for orders between placement and payment. Reserving takes the
+ * quantity off the product with the atomic conditional decrement and records
+ * a ledger row; committing keeps it taken, releasing or expiring gives it back.
+ * Every ledger transition is guarded, so stock is returned at most once even if
+ * a cancellation races the expiry sweeper.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class StockReservationService {
+
+	private final StockReservationRepository reservationRepository;
+	private final ProductRepository productRepository;
+	private final StockLevelView stockLevelView;
+	private final ApplicationEventPublisher eventPublisher;
+	private final InventoryProperties properties;
+
+	/**
+	 * Reserves stock for all lines of an order, all or nothing. Quantities are
+	 * summed per product and taken in productId order so that concurrent orders
+	 * lock shared rows in the same sequence.
+	 *
+	 * @param commitImmediately true for orders that need no payment step (COD)
+	 */
+	public void reserve(Long orderId, Map<String, Integer> quantities, boolean commitImmediately) {
+		Map<String, Integer> ordered = new TreeMap<>(quantities);
+
+		// Cheap rejection from the in-memory view before touching any row. The view misses restocks made on
+		// other nodes until its next reload, so a shortfall is re-read from the database before it counts.
+		List<String> shortInView = shortInView(ordered);
+		if (!shortInView.isEmpty()) {
+			stockLevelView.refresh(shortInView);
+			List<String> stillShort = shortInView(ordered);
+			if (!stillShort.isEmpty()) {
+				throw new BusinessRuleException("Insufficient stock for products: " + stillShort);
+			}
+		}
+
+		List<String> insufficient = new ArrayList<>();
+		for (Map.Entry<String, Integer> entry : ordered.entrySet()) {
+			if (productRepository.decrementStockIfAvailable(entry.getKey(), entry.getValue()) == 0) {
+				insufficient.add(entry.getKey());
+			}
+		}
+		if (!insufficient.isEmpty()) {
+			// Rolls back the decrements that did succeed
+			throw new BusinessRuleException("Insufficient stock for products: " + insufficient);
+		}
+
+		LocalDateTime now = LocalDateTime.now();
+		ReservationStatus status = commitImmediately ? ReservationStatus.COMMITTED : ReservationStatus.RESERVED;
+		LocalDateTime expiresAt = commitImmediately ? null : now.plus(properties.getReservationTtl());
+		List<StockReservation> reservations = new ArrayList<>();
+		ordered.forEach((productId, quantity) -> reservations.add(StockReservation.builder().orderId(orderId)
+				.productId(productId).quantity(quantity).status(status).expiresAt(expiresAt).createdAt(now).build()));
+		reservationRepository.saveAll(reservations);
+
+		publishStockChange(ordered.keySet());
+		log.info("Reserved stock for order {} ({} products, {})", orderId, ordered.size(), status);
+	}
+
+	/**
+	 * Marks the order's held stock as sold.
+	 *
+	 * @return false if nothing was held any more (e.g. the reservation expired)
+	 */
+	public boolean commit(Long orderId) {
+		LocalDateTime now = LocalDateTime.now();
+		int committed = 0;
+		List<StockReservation> held = reservationRepository.findByOrderIdAndStatusInOrderByProductId(orderId,
+				Set.of(ReservationStatus.RESERVED));
+		for (StockReservation reservation : held) {
+			committed += reservationRepository.transition(reservation.getId(), ReservationStatus.RESERVED,
+					ReservationStatus.COMMITTED, now);
+		}
+		log.info("Committed {} stock reservations for order {}", committed, orderId);
+		return committed > 0;
+	}
+
+	/**
+	 * Takes an order's stock again after the sweeper expired its reservation,
+	 * for a payment that arrived late. All or nothing: if any product ran short
+	 * in the meantime, whatever was retaken is given back.
+	 *
+	 * @return false if nothing had expired or the stock is gone
+	 */
+	public boolean reacquire(Long orderId) {
+		LocalDateTime now = LocalDateTime.now();
+		List<StockReservation> expired = reservationRepository.findByOrderIdAndStatusInOrderByProductId(orderId,
+				Set.of(ReservationStatus.EXPIRED));
+		List<StockReservation> taken = new ArrayList<>();
+		for (StockReservation reservation : expired) {
+			// Claim the ledger row first so a duplicate payment callback cannot take the stock twice
+			if (reservationRepository.transition(reservation.getId(), ReservationStatus.EXPIRED,
+					ReservationStatus.COMMITTED, now) == 0) {
+				continue;
+			}
+			if (productRepository.decrementStockIfAvailable(reservation.getProductId(),
+					reservation.getQuantity()) == 0) {
+				reservationRepository.transition(reservation.getId(), ReservationStatus.COMMITTED,
+						ReservationStatus.EXPIRED, now);
+				for (StockReservation retaken : taken) {
+					reservationRepository.transition(retaken.getId(), ReservationStatus.COMMITTED,
+							ReservationStatus.EXPIRED, now);
+					productRepository.incrementStock(retaken.getProductId(), retaken.getQuantity());
+				}
+				log.info("Could not retake stock of product {} for order {}", reservation.getProductId(), orderId);
+				return false;
+			}
+			taken.add(reservation);
+		}
+
+		if (taken.isEmpty()) {
+			return false;
+		}
+		publishStockChange(taken.stream().map(StockReservation::getProductId).toList());
+		log.info("Retook expired stock of {} products for order {}", taken.size(), orderId);
+		return true;
+	}
+
+	/**
+	 * Returns held or committed stock of a cancelled, rejected or failed order.
+	 */
+	public void release(Long orderId) {
+		restock(orderId, Set.of(ReservationStatus.RESERVED, ReservationStatus.COMMITTED), ReservationStatus.RELEASED);
+	}
+
+	/**
+	 * Returns stock of an order whose payment window elapsed. Returns the number
+	 * of reservations expired; 0 means a payment committed them first.
+	 */
+	public int expire(Long orderId) {
+		return restock(orderId, Set.of(ReservationStatus.RESERVED), ReservationStatus.EXPIRED);
+	}
+
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+	public List<Long> findExpiredOrderIds(int limit) {
+		return reservationRepository.findOrderIdsByStatusExpiredBefore(ReservationStatus.RESERVED,
+				LocalDateTime.now(), PageRequest.of(0, limit));
+	}
+
+	// ------------------ PRIVATE HELPER METHODS ------------------
+
+	private List<String> shortInView(Map<String, Integer> quantities) {
+		List<String> shortInView = new ArrayList<>();
+		quantities.forEach((productId, quantity) -> stockLevelView.get(productId)
+				.filter(level -> level.stockQuantity() < quantity).ifPresent(level -> shortInView.add(productId)));
+		return shortInView;
+	}
+
+	private int restock(Long orderId, Set<ReservationStatus> from, ReservationStatus to) {
+		LocalDateTime now = LocalDateTime.now();
+		List<String> restocked = new ArrayList<>();
+		int transitioned = 0;
+
+		List<StockReservation> held = reservationRepository.findByOrderIdAndStatusInOrderByProductId(orderId, from);
+		for (StockReservation reservation : held) {
+			if (reservationRepository.transition(reservation.getId(), reservation.getStatus(), to, now) == 1) {
+				transitioned++;
+				productRepository.incrementStock(reservation.getProductId(), reservation.getQuantity());
+				restocked.add(reservation.getProductId());
+			}
+		}
+
+		if (!restocked.isEmpty()) {
+			publishStockChange(restocked);
+			log.info("Returned stock of {} products for order {} ({})", restocked.size(), orderId, to);
+		}
+		return transitioned;
+	}
+
+	private void publishStockChange(Iterable<String> productIds) {
+		List<String> ids = new ArrayList<>();
+		productIds.forEach(ids::add);
+		eventPublisher.publishEvent(new ProductChangedEvent(ChangeType.STOCK, ids));
+	}
+}
@@ -0,0 +1,50 @@
+package com.printkon.pdp.inventory.models;
+
+import java.time.LocalDateTime;
+
+import com.printkon.pdp.common.enums.ReservationStatus;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Ledger row for stock held by one order line. The quantity has already been
+ * taken off {@code products.stock_quantity}; releasing or expiring the row
+ * puts it back exactly once.
+ */
+@Entity
+@Table(name = "stock_reservations", indexes = {
+		@Index(name = "idx_reservation_order_id", columnList = "order_id"),
+		@Index(name = "idx_reservation_status_expires", columnList = "status, expires_at") })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockReservation {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "order_id", nullable = false)
+	private Long orderId;
+
+	@Column(name = "product_id", nullable = false, length = 10)
+	private String productId;
+
+	@Column(nullable = false)
+	private Integer quantity;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 20)
+	private ReservationStatus status;
+
+	@Column(name = "expires_at")
+	private LocalDateTime expiresAt;
+
+	@Column(name = "created_at", nullable = false)
+	private LocalDateTime createdAt;
+
+	@Column(name = "updated_at")
+	private LocalDateTime updatedAt;
+}
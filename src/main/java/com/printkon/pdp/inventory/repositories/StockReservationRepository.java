@@ -0,0 +1,31 @@
+package com.printkon.pdp.inventory.repositories;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.printkon.pdp.common.enums.ReservationStatus;
+import com.printkon.pdp.inventory.models.StockReservation;
+
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+	List<StockReservation> findByOrderIdAndStatusInOrderByProductId(Long orderId,
+			Collection<ReservationStatus> statuses);
+
+	@Query("SELECT r.orderId FROM StockReservation r WHERE r.status = :status AND r.expiresAt < :now "
+			+ "GROUP BY r.orderId ORDER BY MIN(r.expiresAt)")
+	List<Long> findOrderIdsByStatusExpiredBefore(@Param("status") ReservationStatus status,
+			@Param("now") LocalDateTime now, Pageable pageable);
+
+	// Guarded transition: returns 0 if another caller already moved the row
+	@Modifying
+	@Query("UPDATE StockReservation r SET r.status = :to, r.updatedAt = :now WHERE r.id = :id AND r.status = :from")
+	int transition(@Param("id") Long id, @Param("from") ReservationStatus from, @Param("to") ReservationStatus to,
+			@Param("now") LocalDateTime now);
+}
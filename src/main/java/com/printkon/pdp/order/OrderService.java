@@ -5,9 +5,12 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -22,9 +25,13 @@ import com.printkon.pdp.common.enums.ERole;
 import com.printkon.pdp.common.enums.OrderStatus;
 import com.printkon.pdp.common.enums.PaymentMethod;
 import com.printkon.pdp.common.enums.PaymentStatus;
+import com.printkon.pdp.common.ids.IdGenerator;
 import com.printkon.pdp.exceptions.InvalidOperationException;
 import com.printkon.pdp.exceptions.ResourceNotFoundException;
+import com.printkon.pdp.inventory.StockReservationService;
 import com.printkon.pdp.order.dto.*;
+import com.printkon.pdp.order.events.OrderSaleReversedEvent;
+import com.printkon.pdp.order.events.OrderSoldEvent;
 import com.printkon.pdp.order.models.Order;
 import com.printkon.pdp.order.models.OrderEvent;
 import com.printkon.pdp.order.models.OrderItem;
@@ -52,6 +59,9 @@ public class OrderService {
 	private final UserRepository userRepository;
 	private final AddressRepository addressRepository;
 	private final PaymentService paymentService;
+	private final StockReservationService stockReservationService;
+	private final IdGenerator idGenerator;
+	private final ApplicationEventPublisher eventPublisher;
 
 	// ========== ORDER PLACEMENT FLOW ==========
 
@@ -80,6 +90,14 @@ public class OrderService {
 
 			// Save order
 			Order savedOrder = orderRepository.save(order);
+
+			// Hold stock until payment; COD orders take it for good right away
+			stockReservationService.reserve(savedOrder.getId(), summarizeQuantities(items),
+					order.getPaymentMethod() == PaymentMethod.COD);
+			if (order.getPaymentMethod() == PaymentMethod.COD) {
+				publishSold(savedOrder);
+			}
+
 			createOrderEvent(savedOrder.getId(), "ORDER_CREATED", "Order placed successfully. Awaiting payment.",
 					user.getId());
 
@@ -163,6 +181,12 @@ public class OrderService {
 			Order order = orderRepository.findByOrderId(request.getOrderId())
 					.orElseThrow(() -> new ResourceNotFoundException("Order not found: " + request.getOrderId()));
 
+			// Repeated provider callback: the stock is committed already, nothing to redo
+			if (order.getPaymentStatus() == PaymentStatus.PAID) {
+				return ResponseEntity.ok(ResponseStructure.<OrderResponse>builder().message("Payment already confirmed")
+						.data(mapToOrderResponse(order)).statusCode(HttpStatus.OK.value()).build());
+			}
+
 			// Verify payment
 			boolean paymentVerified = verifyPayment(request);
 
@@ -170,6 +194,18 @@ public class OrderService {
 				return handlePaymentFailure(order, request);
 			}
 
+			// The payment is captured at this point, so a lost reservation must not reject it
+			if (order.getPaymentMethod() != PaymentMethod.COD) {
+				if (!stockReservationService.commit(order.getId())) {
+					if (!stockReservationService.reacquire(order.getId())) {
+						return handleUnfulfillablePayment(order);
+					}
+					createOrderEvent(order.getId(), "STOCK_REACQUIRED",
+							"Payment arrived after the reservation expired. Stock taken again.", null);
+				}
+				publishSold(order);
+			}
+
 			// Update order status for successful payment
 			order.setPaymentStatus(PaymentStatus.PAID);
 			order.setStatus(OrderStatus.UNDER_REVIEW);
@@ -247,12 +283,15 @@ public class OrderService {
 		User admin = userRepository.findById(currentUser.getId())
 				.orElseThrow(() -> new RuntimeException("Admin user not found"));
 
+		publishSaleReversedIfSold(order);
 		order.setStatus(OrderStatus.REJECTED);
 		order.setReviewedBy(admin);
 		order.setRejectionReason(reason);
 		order.setUpdatedAt(LocalDateTime.now());
 		orderRepository.save(order);
 
+		stockReservationService.release(order.getId());
+
 		createOrderEvent(order.getId(), "ORDER_REJECTED", "Order rejected. Reason: " + reason, admin.getId());
 
 		log.info("Order {} rejected by admin {}", orderId, admin.getId());
@@ -280,10 +319,18 @@ public class OrderService {
 
 		// Update order status
 		OrderStatus oldStatus = order.getStatus();
+		if (newStatus == OrderStatus.CANCELLED) {
+			publishSaleReversedIfSold(order);
+		}
 		order.setStatus(newStatus);
 		order.setUpdatedAt(LocalDateTime.now());
 		orderRepository.save(order);
 
+		// Committed stock goes back on sale, as on every other cancel path
+		if (newStatus == OrderStatus.CANCELLED) {
+			stockReservationService.release(order.getId());
+		}
+
 		String eventMessage = String.format("Status changed from %s to %s", oldStatus, newStatus);
 		if (notes != null && !notes.trim().isEmpty()) {
 			eventMessage += ". Notes: " + notes;
@@ -371,6 +418,29 @@ public class OrderService {
 		return ResponseEntity.ok(structure);
 	}
 
+	/**
+	 * Cancels orders whose stock reservation outlived the payment window and
+	 * returns the stock. The guarded reservation transition decides: a payment
+	 * that committed the reservations first (even while this batch was loading)
+	 * leaves nothing to expire, and the order is left alone.
+	 */
+	@Transactional
+	public void expireUnpaidOrders(List<Long> orderIds) {
+		for (Order order : orderRepository.findAllById(orderIds)) {
+			if (stockReservationService.expire(order.getId()) > 0
+					&& order.getStatus() == OrderStatus.PENDING_PAYMENT) {
+				order.setStatus(OrderStatus.CANCELLED);
+				order.setPaymentStatus(PaymentStatus.EXPIRED);
+				order.setUpdatedAt(LocalDateTime.now());
+				orderRepository.save(order);
+
+				createOrderEvent(order.getId(), "PAYMENT_EXPIRED",
+						"Payment not received in time. Order cancelled and stock released.", null);
+				log.info("Order {} expired awaiting payment", order.getOrderId());
+			}
+		}
+	}
+
 	// ========== INTERNAL METHODS (using Long id) - Keep for backward compatibility
 	// ==========
 
@@ -630,6 +700,9 @@ public class OrderService {
 		// Store original status for event tracking
 		OrderStatus originalStatus = order.getStatus();
 
+		// Before the refund below moves the payment status on
+		publishSaleReversedIfSold(order);
+
 		// Update order status and cancellation details
 		order.setStatus(OrderStatus.CANCELLED);
 		order.setCancellationReason(reason);
@@ -643,6 +716,9 @@ public class OrderService {
 		// Handle payment refund if applicable
 		handlePaymentRefundForCancellation(order);
 
+		// Put reserved stock back on sale
+		stockReservationService.release(order.getId());
+
 		// Notify relevant parties (admin, operator if assigned)
 		notifyPartiesAboutCancellation(order, originalStatus);
 
@@ -836,6 +912,8 @@ public class OrderService {
 		order.setUpdatedAt(LocalDateTime.now());
 		orderRepository.save(order);
 
+		stockReservationService.release(order.getId());
+
 		createOrderEvent(order.getId(), "PAYMENT_FAILED", "Payment verification failed. Order cancelled.", null);
 
 		ResponseStructure<OrderResponse> structure = ResponseStructure.<OrderResponse>builder()
@@ -845,6 +923,28 @@ public class OrderService {
 		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(structure);
 	}
 
+	// Paid, but the stock went back on sale and is gone: keep the order cancelled and refund it
+	private ResponseEntity<ResponseStructure<OrderResponse>> handleUnfulfillablePayment(Order order) {
+		log.warn("Order {} paid after its stock was released; refunding", order.getOrderId());
+
+		order.setPaymentStatus(PaymentStatus.PAID);
+		order.setStatus(OrderStatus.CANCELLED);
+		order.setCancellationReason("Stock no longer available when payment was received");
+		order.setCancelledAt(LocalDateTime.now());
+		order.setUpdatedAt(LocalDateTime.now());
+
+		createOrderEvent(order.getId(), "PAYMENT_UNFULFILLABLE",
+				"Payment received after the stock reservation lapsed and the stock is gone. Refund required.", null);
+		handlePaymentRefundForCancellation(order);
+		orderRepository.save(order);
+
+		ResponseStructure<OrderResponse> structure = ResponseStructure.<OrderResponse>builder()
+				.message("Payment received but the items are no longer in stock; a refund has been initiated")
+				.data(mapToOrderResponse(order)).statusCode(HttpStatus.CONFLICT.value()).build();
+
+		return ResponseEntity.status(HttpStatus.CONFLICT).body(structure);
+	}
+
 	private void setInitialOrderStatus(Order order) {
 		if (order.getPaymentMethod() == PaymentMethod.COD) {
 			order.setStatus(OrderStatus.UNDER_REVIEW); // COD orders go directly to review
@@ -855,6 +955,45 @@ public class OrderService {
 		}
 	}
 
+	// Sales statistics pick this up after commit
+	private void publishSold(Order order) {
+		List<OrderSoldEvent.Line> lines = order.getItems().stream()
+				.map(item -> new OrderSoldEvent.Line(item.getProduct().getId(), item.getQuantity(),
+						item.getTotalPrice()))
+				.collect(Collectors.toList());
+		eventPublisher.publishEvent(new OrderSoldEvent(order.getOrderId(), lines));
+	}
+
+	/**
+	 * Takes a cancelled or rejected order back out of the sales statistics if
+	 * {@link #publishSold} counted it: COD orders at placement, other orders
+	 * once paid. Call before the payment status moves on to a refund.
+	 */
+	private void publishSaleReversedIfSold(Order order) {
+		boolean sold = order.getPaymentMethod() == PaymentMethod.COD
+				|| order.getPaymentStatus() == PaymentStatus.PAID;
+		if (!sold || order.getStatus() == OrderStatus.CANCELLED || order.getStatus() == OrderStatus.REJECTED) {
+			return;
+		}
+		LocalDate soldOn = order.getPaymentMethod() == PaymentMethod.COD ? order.getCreatedAt().toLocalDate()
+				: orderEventRepository.findFirstByOrderIdAndEventTypeOrderByCreatedAtAsc(order.getId(),
+						"PAYMENT_CONFIRMED").map(event -> event.getCreatedAt().toLocalDate())
+						.orElse(LocalDate.now());
+		List<OrderSoldEvent.Line> lines = order.getItems().stream()
+				.map(item -> new OrderSoldEvent.Line(item.getProduct().getId(), item.getQuantity(),
+						item.getTotalPrice()))
+				.collect(Collectors.toList());
+		eventPublisher.publishEvent(new OrderSaleReversedEvent(order.getOrderId(), soldOn, lines));
+	}
+
+	private Map<String, Integer> summarizeQuantities(List<OrderItem> items) {
+		Map<String, Integer> quantities = new LinkedHashMap<>();
+		for (OrderItem item : items) {
+			quantities.merge(item.getProduct().getProductId(), item.getQuantity(), Integer::sum);
+		}
+		return quantities;
+	}
+
 	private List<OrderItem> buildOrderItems(OrderRequest request, Order order) {
 		return request.getItems().stream().map(itemReq -> mapToOrderItem(itemReq, order)).collect(Collectors.toList());
 	}
@@ -887,9 +1026,20 @@ public class OrderService {
 	}
 
 	private Order buildOrderFromRequest(OrderRequest request, User user, ShippingAddress shippingAddress) {
-		return Order.builder().createdAt(LocalDateTime.now()).updatedAt(LocalDateTime.now())
-				.paymentMethod(request.getPaymentMethod()).shippingAddress(shippingAddress)
-				.deliveryInstructions(request.getDeliveryInstructions()).customer(user).build();
+		return Order.builder().orderId(nextFreeOrderId()).createdAt(LocalDateTime.now())
+				.updatedAt(LocalDateTime.now()).paymentMethod(request.getPaymentMethod())
+				.shippingAddress(shippingAddress).deliveryInstructions(request.getDeliveryInstructions()).customer(user)
+				.build();
+	}
+
+	// Generated ids are unique among themselves; skip the rare clash with a legacy random id
+	private String nextFreeOrderId() {
+		String orderId = idGenerator.nextOrderId();
+		while (orderRepository.existsByOrderId(orderId)) {
+			log.warn("Generated order ID {} already taken, skipping", orderId);
+			orderId = idGenerator.nextOrderId();
+		}
+		return orderId;
 	}
 
 	private OrderItem mapToOrderItem(OrderItemRequest itemRequest, Order order) {
@@ -0,0 +1,50 @@
+package com.printkon.pdp.order;
+
+import java.util.List;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.printkon.pdp.config.InventoryProperties;
+import com.printkon.pdp.inventory.StockReservationService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Periodically cancels orders that were never paid and returns the stock they
+ * held. Each batch runs in its own transaction so one bad order only holds up
+ * its own batch until the next sweep.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReservationExpiryScheduler {
+
+	private final StockReservationService stockReservationService;
+	private final OrderService orderService;
+	private final InventoryProperties properties;
+
+	@Scheduled(fixedDelayString = "${app.inventory.sweep-interval:PT1M}")
+	public void expireReservations() {
+		int expired = 0;
+		List<Long> batch;
+		do {
+			batch = stockReservationService.findExpiredOrderIds(properties.getSweepBatchSize());
+			if (batch.isEmpty()) {
+				break;
+			}
+			try {
+				orderService.expireUnpaidOrders(batch);
+				expired += batch.size();
+			} catch (Exception e) {
+				log.error("Failed to expire reservations for orders {}: {}", batch, e.getMessage());
+				break;
+			}
+		} while (batch.size() == properties.getSweepBatchSize());
+
+		if (expired > 0) {
+			log.info("Expired stock reservations of {} unpaid orders", expired);
+		}
+	}
+}
@@ -0,0 +1,12 @@
+package com.printkon.pdp.order.events;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Published by {@code OrderService} when an order already counted by an
+ * {@link OrderSoldEvent} is cancelled or rejected, so the sale comes back out
+ * of the statistics. {@code soldOn} is the day the sale was counted on.
+ */
+public record OrderSaleReversedEvent(String orderId, LocalDate soldOn, List<OrderSoldEvent.Line> lines) {
+}
@@ -0,0 +1,15 @@
+package com.printkon.pdp.order.events;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Published by {@code OrderService} once an order's stock is committed: at
+ * placement for COD orders, on payment confirmation otherwise. Lines carry the
+ * internal product id.
+ */
+public record OrderSoldEvent(String orderId, List<Line> lines) {
+
+	public record Line(Long productId, int quantity, BigDecimal revenue) {
+	}
+}
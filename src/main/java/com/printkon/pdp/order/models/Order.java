@@ -87,6 +87,7 @@ public class Order {
 	@Column(name = "cancelled_at")
 	private LocalDateTime cancelledAt;
 
+	// Id fallback only: OrderService assigns ids from IdGenerator
 	@PrePersist
 	protected void generateOrderId() {
 		if (this.orderId == null) {
@@ -1,7 +1,10 @@
 package com.printkon.pdp.review;
 
 import com.printkon.pdp.catalog.models.Product;
+import com.printkon.pdp.catalog.models.ProductStats;
 import com.printkon.pdp.catalog.repositories.ProductRepository;
+import com.printkon.pdp.catalog.repositories.ProductStatsRepository;
+import com.printkon.pdp.catalog.services.ProductStatsService;
 import com.printkon.pdp.review.dto.ProductReviewRequest;
 import com.printkon.pdp.review.dto.ProductReviewResponse;
 import com.printkon.pdp.review.models.ProductReview;
@@ -16,6 +19,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -28,6 +32,8 @@ public class ProductReviewService {
 	private final ProductReviewRepository reviewRepository;
 	private final ProductRepository productRepository;
 	private final UserRepository userRepository;
+	private final ProductStatsRepository statsRepository;
+	private final ProductStatsService productStatsService;
 
 	public ResponseEntity<ResponseStructure<ProductReviewResponse>> submitReview(Long productId,
 			ProductReviewRequest req, Long currentUserId) {
@@ -63,18 +69,25 @@ public class ProductReviewService {
 	public ResponseEntity<ResponseStructure<ProductReviewResponse>> approveReview(Long reviewId, Boolean approved) {
 		ProductReview review = reviewRepository.findById(reviewId)
 				.orElseThrow(() -> new RuntimeException("Review not found"));
-		review.setApproved(Boolean.TRUE.equals(approved));
+		boolean approve = Boolean.TRUE.equals(approved);
+		// Only the moderation that actually flips the flag moves the product's rating aggregate
+		if (reviewRepository.updateApproved(reviewId, approve) == 1) {
+			productStatsService.applyRatingChange(review.getProduct(), review.getRating(), approve);
+		}
+		review.setApproved(approve);
 		ProductReview saved = reviewRepository.save(review);
 		return buildResponse("Review moderation updated", toDto(saved), HttpStatus.OK);
 	}
 
+	@Transactional(readOnly = true)
 	public Double getAverageRating(Long productId) {
-		Double avg = reviewRepository.findAverageRatingByProductId(productId);
-		return avg == null ? 0.0 : avg;
+		return statsRepository.findByProductId(productId).map(ProductStats::getAverageRating)
+				.map(BigDecimal::doubleValue).orElse(0.0);
 	}
 
+	@Transactional(readOnly = true)
 	public long getReviewCount(Long productId) {
-		return reviewRepository.countByProductIdAndApprovedTrue(productId);
+		return statsRepository.findByProductId(productId).map(ProductStats::getReviewCount).orElse(0L);
 	}
 
 	private ProductReviewResponse toDto(ProductReview r) {
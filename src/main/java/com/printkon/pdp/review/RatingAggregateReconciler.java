@@ -0,0 +1,81 @@
+package com.printkon.pdp.review;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.printkon.pdp.catalog.repositories.ProductStatsRepository;
+import com.printkon.pdp.catalog.services.ProductStatsService;
+import com.printkon.pdp.review.repositories.ProductReviewRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Periodically compares the rating aggregates on product_stats with the
+ * approved reviews and rewrites the ones that drifted. Each fix locks the
+ * stats row before recounting, so it cannot interleave with a moderation
+ * that is moving the same aggregate. The first run also backfills products
+ * reviewed before the aggregates existed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RatingAggregateReconciler {
+
+	private final ProductReviewRepository reviewRepository;
+	private final ProductStatsRepository statsRepository;
+	private final TransactionTemplate transactionTemplate;
+
+	@Scheduled(initialDelayString = "PT1M",
+			fixedDelayString = "${app.catalog.stats.rating-reconcile-interval:PT6H}")
+	public void reconcile() {
+		Map<Long, long[]> expected = new HashMap<>();
+		for (Object[] row : reviewRepository.sumApprovedRatingsByProduct()) {
+			expected.put((Long) row[0], new long[] { ((Number) row[1]).longValue(), ((Number) row[2]).longValue() });
+		}
+
+		Set<Long> drifted = new HashSet<>();
+		Set<Long> seen = new HashSet<>();
+		for (Object[] row : statsRepository.findRatingAggregates()) {
+			Long productId = (Long) row[0];
+			long[] aggregate = expected.getOrDefault(productId, new long[2]);
+			seen.add(productId);
+			if (aggregate[0] != (Long) row[1] || aggregate[1] != (Long) row[2]) {
+				drifted.add(productId);
+			}
+		}
+		expected.keySet().stream().filter(productId -> !seen.contains(productId)).forEach(drifted::add);
+
+		int fixed = 0;
+		for (Long productId : drifted) {
+			try {
+				if (Boolean.TRUE.equals(transactionTemplate.execute(status -> recount(productId)))) {
+					fixed++;
+				}
+			} catch (Exception e) {
+				log.warn("Failed to reconcile rating aggregate of product {}: {}", productId, e.getMessage());
+			}
+		}
+		if (fixed > 0) {
+			log.info("Reconciled rating aggregates of {} products", fixed);
+		}
+	}
+
+	private boolean recount(Long productId) {
+		if (statsRepository.findByProductIdForUpdate(productId).isEmpty()) {
+			return false;
+		}
+		List<Object[]> rows = reviewRepository.sumApprovedRatings(productId);
+		long sum = ((Number) rows.get(0)[0]).longValue();
+		long count = ((Number) rows.get(0)[1]).longValue();
+		return statsRepository.setRatingAggregate(productId, sum, count,
+				ProductStatsService.averageRating(sum, count)) > 0;
+	}
+}
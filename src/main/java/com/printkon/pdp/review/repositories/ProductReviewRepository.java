@@ -2,7 +2,9 @@ package com.printkon.pdp.review.repositories;
 
 import com.printkon.pdp.review.models.ProductReview;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
@@ -10,10 +12,19 @@ public interface ProductReviewRepository extends JpaRepository<ProductReview, Lo
 
 	List<ProductReview> findByProductIdAndApprovedTrueOrderByCreatedAtDesc(Long productId);
 
-	long countByProductIdAndApprovedTrue(Long productId);
+	// Guarded flip: returns 0 if the review already had this state
+	@Modifying
+	@Query("update ProductReview r set r.approved = :approved where r.id = :id and r.approved <> :approved")
+	int updateApproved(@Param("id") Long id, @Param("approved") boolean approved);
 
-	@Query("select avg(r.rating) from ProductReview r where r.product.id = :productId and r.approved = true")
-	Double findAverageRatingByProductId(Long productId);
+	// Approved rating aggregates, recomputed by the reconciler: productId, sum, count
+	@Query("select r.product.id, sum(r.rating), count(r) from ProductReview r where r.approved = true "
+			+ "group by r.product.id")
+	List<Object[]> sumApprovedRatingsByProduct();
+
+	@Query("select coalesce(sum(r.rating), 0), count(r) from ProductReview r "
+			+ "where r.product.id = :productId and r.approved = true")
+	List<Object[]> sumApprovedRatings(@Param("productId") Long productId);
 
 	List<ProductReview> findByProductIdOrderByCreatedAtDesc(Long productId);
 }
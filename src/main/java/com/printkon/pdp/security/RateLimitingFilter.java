@@ -19,6 +19,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.printkon.pdp.config.RateLimitProperties;
 import com.printkon.pdp.common.dto.ResponseStructure;
+import com.printkon.pdp.common.utils.RequestUtils;
 
 import java.io.IOException;
 import java.time.Duration;
@@ -52,7 +53,7 @@ public class RateLimitingFilter extends OncePerRequestFilter {
 			return;
 		}
 
-		String clientIp = getClientIpAddress(request);
+		String clientIp = RequestUtils.clientIp(request);
 		String requestPath = request.getRequestURI();
 		String method = request.getMethod();
 
@@ -142,23 +143,6 @@ public class RateLimitingFilter extends OncePerRequestFilter {
 		return false;
 	}
 
-	private String getClientIpAddress(HttpServletRequest request) {
-		// Check various headers for the real client IP (in case of proxies/load
-		// balancers)
-		String xForwardedFor = request.getHeader("X-Forwarded-For");
-		if (xForwardedFor != null && !xForwardedFor.isEmpty() && !"unknown".equalsIgnoreCase(xForwardedFor)) {
-			// X-Forwarded-For can contain multiple IPs, get the first one
-			return xForwardedFor.split(",")[0].trim();
-		}
-
-		String xRealIp = request.getHeader("X-Real-IP");
-		if (xRealIp != null && !xRealIp.isEmpty() && !"unknown".equalsIgnoreCase(xRealIp)) {
-			return xRealIp;
-		}
-
-		return request.getRemoteAddr();
-	}
-
 	private void sendRateLimitResponse(HttpServletResponse response, String message) throws IOException {
 		response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
 		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
@@ -1,8 +1,10 @@
 package com.printkon.pdp.shopping.wishlist;
 
+import com.printkon.pdp.catalog.models.ProductStats;
 import com.printkon.pdp.catalog.repositories.ProductRepository;
+import com.printkon.pdp.catalog.repositories.ProductStatsRepository;
+import com.printkon.pdp.catalog.services.ProductStatsCounters;
 import com.printkon.pdp.common.dto.ResponseStructure;
-import com.printkon.pdp.review.repositories.ProductReviewRepository;
 import com.printkon.pdp.shopping.wishlist.dto.WishlistItemRequest;
 import com.printkon.pdp.shopping.wishlist.dto.WishlistItemResponse;
 import com.printkon.pdp.shopping.wishlist.dto.WishlistResponse;
@@ -20,6 +22,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -28,7 +32,8 @@ public class WishlistService {
 	private final WishlistRepository wishlistRepository;
 	private final ProductRepository productRepository;
 	private final UserRepository userRepository;
-	private final ProductReviewRepository productReviewRepository;
+	private final ProductStatsRepository productStatsRepository;
+	private final ProductStatsCounters statsCounters;
 
 	@Transactional(readOnly = true)
 	public ResponseEntity<ResponseStructure<WishlistResponse>> getWishlist(UserDetailsImpl user) {
@@ -58,6 +63,7 @@ public class WishlistService {
 			WishlistItem item = WishlistItem.builder().product(product).wishlist(wishlist).build();
 			wishlist.addItem(item);
 			wishlist = wishlistRepository.save(wishlist);
+			statsCounters.recordWishlistAdd(product.getId());
 		}
 
 		return buildResponse("Item added to wishlist successfully", mapToResponse(wishlist), HttpStatus.CREATED);
@@ -104,12 +110,17 @@ public class WishlistService {
 	}
 
 	private WishlistResponse mapToResponse(Wishlist wishlist) {
+		// Precomputed rating aggregates for all items in one query
+		Map<Long, ProductStats> stats = productStatsRepository
+				.findByProductIdIn(wishlist.getItems().stream().map(i -> i.getProduct().getId()).toList()).stream()
+				.collect(Collectors.toMap(ProductStats::getProductId, s -> s));
+
 		List<WishlistItemResponse> items = wishlist.getItems().stream().map(i -> {
 			var p = i.getProduct();
-			Double avgRating = productReviewRepository.findAverageRatingByProductId(p.getId());
-			if (avgRating == null)
-				avgRating = 0.0;
-			Long reviewCount = productReviewRepository.countByProductIdAndApprovedTrue(p.getId());
+			ProductStats stat = stats.get(p.getId());
+			Double avgRating = stat != null && stat.getAverageRating() != null ? stat.getAverageRating().doubleValue()
+					: 0.0;
+			Long reviewCount = stat != null ? stat.getReviewCount() : 0L;
 
 			return WishlistItemResponse.builder().id(i.getId()).productId(p.getProductId()) // Use productId instead of
 																							// id
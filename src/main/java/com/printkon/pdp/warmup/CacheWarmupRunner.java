@@ -0,0 +1,151 @@
+package com.printkon.pdp.warmup;
+
+import com.printkon.pdp.catalog.CategoryController;
+import com.printkon.pdp.catalog.services.CategoryService;
+import com.printkon.pdp.catalog.services.ProductService;
+import com.printkon.pdp.cms.CmsService;
+import com.printkon.pdp.cms.FeaturesController;
+import com.printkon.pdp.cms.PrintingServicesController;
+import com.printkon.pdp.cms.StatsController;
+import com.printkon.pdp.cms.TestimonialsController;
+import com.printkon.pdp.common.cache.EncodedResponseCache;
+import com.printkon.pdp.common.cache.EncodedResponseCache.Group;
+import com.printkon.pdp.config.WarmupProperties;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Loads the hot working set (popular products, the category tree and the
+ * landing page) before the instance takes traffic. Spring Boot only switches
+ * readiness to ACCEPTING_TRAFFIC once all application runners have returned,
+ * so a deploy no longer starts out with a cold Hibernate session and empty
+ * caches. Warm-up is best effort: failures and timeouts are logged, never
+ * fatal.
+ */
+@Slf4j
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class CacheWarmupRunner implements ApplicationRunner {
+
+	private record Step(String name, Callable<String> work) {
+	}
+
+	private final WarmupProperties properties;
+	private final ProductService productService;
+	private final CategoryService categoryService;
+	private final CmsService cmsService;
+	private final EncodedResponseCache responseCache;
+
+	@Override
+	public void run(ApplicationArguments args) {
+		if (!properties.isEnabled()) {
+			log.info("Cache warm-up disabled");
+			return;
+		}
+
+		List<Step> steps = List.of(new Step("products", this::warmProducts),
+				new Step("categories", this::warmCategories), new Step("landing", this::warmLanding));
+		Map<String, String> report = new LinkedHashMap<>();
+		long start = System.nanoTime();
+
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, properties.getParallelism()),
+				namedThreads());
+		try {
+			List<Callable<String>> timed = new ArrayList<>();
+			for (Step step : steps) {
+				timed.add(() -> {
+					long stepStart = System.nanoTime();
+					String detail = step.work().call();
+					return elapsedMillis(stepStart) + " ms" + (detail != null ? " (" + detail + ")" : "");
+				});
+			}
+
+			List<Future<String>> results = executor.invokeAll(timed, properties.getTimeout().toMillis(),
+					TimeUnit.MILLISECONDS);
+			for (int i = 0; i < steps.size(); i++) {
+				report.put(steps.get(i).name(), outcome(steps.get(i).name(), results.get(i)));
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			log.warn("Cache warm-up interrupted");
+		} finally {
+			executor.shutdownNow();
+		}
+
+		log.info("Cache warm-up finished in {} ms: {}", elapsedMillis(start), report.entrySet().stream()
+				.map(entry -> entry.getKey() + " " + entry.getValue()).collect(Collectors.joining(", ")));
+	}
+
+	// ------------------ STEPS ------------------
+
+	private String warmProducts() {
+		return productService.warmProductCache(properties.getTopProducts()) + " products";
+	}
+
+	private String warmCategories() {
+		// Each root response embeds its subcategories, so this loads the whole tree
+		responseCache.preload(Group.CATEGORIES, CategoryController.allCategoriesKey(false),
+				() -> categoryService.getAllCategories(false));
+		return null;
+	}
+
+	private String warmLanding() {
+		responseCache.preload(Group.LANDING, FeaturesController.CACHE_KEY, cmsService::getFeatures);
+		responseCache.preload(Group.LANDING, StatsController.CACHE_KEY, cmsService::getStats);
+		responseCache.preload(Group.LANDING, TestimonialsController.CACHE_KEY, cmsService::getTestimonials);
+		responseCache.preload(Group.LANDING, PrintingServicesController.CACHE_KEY, cmsService::getPrintingServices);
+		return "4 sections";
+	}
+
+	// ------------------ PRIVATE HELPER METHODS ------------------
+
+	private static String outcome(String step, Future<String> result) {
+		try {
+			return result.get();
+		} catch (CancellationException e) {
+			log.warn("Cache warm-up step '{}' timed out", step);
+			return "timed out";
+		} catch (ExecutionException e) {
+			log.warn("Cache warm-up step '{}' failed: {}", step, e.getCause().getMessage());
+			return "failed";
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return "interrupted";
+		}
+	}
+
+	private static long elapsedMillis(long startNanos) {
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+	}
+
+	private static ThreadFactory namedThreads() {
+		AtomicInteger counter = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, "cache-warmup-" + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+}
@@ -0,0 +1,150 @@
+package com.printkon.pdp.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.printkon.pdp.catalog.models.Category;
+import com.printkon.pdp.catalog.models.Product;
+import com.printkon.pdp.catalog.repositories.CategoryRepository;
+import com.printkon.pdp.catalog.repositories.ProductRepository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single hot SKU, many concurrent buyers: compares the conditional UPDATE
+ * against the old load/decrement/save path. Needs a real database, so it is
+ * opt-in: {@code mvn test -Dtest=StockDecrementContentionBenchmark -Dbenchmark=true}
+ * (e.g. against the dev MySQL instance).
+ */
+@Slf4j
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class StockDecrementContentionBenchmark {
+
+	private static final int THREADS = 32;
+	private static final int INITIAL_STOCK = 5_000;
+	private static final int ATTEMPTS_PER_THREAD = 200;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private Category category;
+	private Product product;
+
+	@BeforeEach
+	void createHotProduct() {
+		category = categoryRepository.save(Category.builder().name("Benchmark")
+				.slug("benchmark-" + System.nanoTime()).build());
+		product = productRepository.save(Product.builder().name("Hot SKU").price(BigDecimal.TEN)
+				.stockQuantity(INITIAL_STOCK).category(category).build());
+	}
+
+	@AfterEach
+	void cleanUp() {
+		productRepository.deleteById(product.getId());
+		categoryRepository.deleteById(category.getId());
+	}
+
+	@Test
+	void atomicConditionalDecrement() throws Exception {
+		String productId = product.getProductId();
+		Result result = run(() -> transactionTemplate
+				.execute(status -> productRepository.decrementStockIfAvailable(productId, 1)) == 1);
+
+		report("atomic UPDATE", result);
+		assertEquals(Math.min(INITIAL_STOCK, THREADS * ATTEMPTS_PER_THREAD), result.succeeded());
+		assertEquals(INITIAL_STOCK - result.succeeded(), currentStock());
+	}
+
+	@Test
+	void readModifyWriteWithOptimisticLock() throws Exception {
+		String productId = product.getProductId();
+		Result result = run(() -> {
+			try {
+				return transactionTemplate.execute(status -> {
+					Product hot = productRepository.findByProductId(productId).orElseThrow();
+					if (hot.getStockQuantity() < 1) {
+						return false;
+					}
+					hot.reduceStock(1);
+					productRepository.save(hot);
+					return true;
+				});
+			} catch (ObjectOptimisticLockingFailureException e) {
+				return false;
+			}
+		});
+
+		report("read-modify-write", result);
+		assertEquals(INITIAL_STOCK - result.succeeded(), currentStock());
+	}
+
+	// ------------------ HELPERS ------------------
+
+	private record Result(long succeeded, long failed, long elapsedNanos) {
+	}
+
+	private interface Attempt {
+		boolean tryOnce();
+	}
+
+	private Result run(Attempt attempt) throws Exception {
+		AtomicLong succeeded = new AtomicLong();
+		AtomicLong failed = new AtomicLong();
+		CountDownLatch startGate = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < THREADS; t++) {
+				futures.add(executor.submit(() -> {
+					startGate.await();
+					for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+						(attempt.tryOnce() ? succeeded : failed).incrementAndGet();
+					}
+					return null;
+				}));
+			}
+			long start = System.nanoTime();
+			startGate.countDown();
+			for (Future<?> future : futures) {
+				future.get();
+			}
+			return new Result(succeeded.get(), failed.get(), System.nanoTime() - start);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private int currentStock() {
+		return productRepository.findById(product.getId()).orElseThrow().getStockQuantity();
+	}
+
+	private void report(String label, Result result) {
+		double seconds = result.elapsedNanos() / 1e9;
+		log.info("{} {} threads: {} decrements, {} rejected in {} s -> {} decrements/s", label, THREADS,
+				result.succeeded(), result.failed(), String.format("%.2f", seconds),
+				Math.round(result.succeeded() / seconds));
+	}
+}
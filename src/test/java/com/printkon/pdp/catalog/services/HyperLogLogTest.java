@@ -0,0 +1,80 @@
+package com.printkon.pdp.catalog.services;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class HyperLogLogTest {
+
+	@Test
+	void estimatesStayWithinFivePercent() {
+		for (int cardinality : new int[] { 100, 1_000, 10_000, 100_000, 1_000_000 }) {
+			HyperLogLog sketch = new HyperLogLog();
+			for (int i = 0; i < cardinality; i++) {
+				sketch.offer(mix(i));
+				sketch.offer(mix(i));
+			}
+			double error = Math.abs(sketch.estimate() - cardinality) / (double) cardinality;
+			assertTrue(error < 0.05, cardinality + " estimated as " + sketch.estimate());
+		}
+	}
+
+	@Test
+	void mergeEqualsSketchOfUnion() {
+		HyperLogLog even = new HyperLogLog();
+		HyperLogLog odd = new HyperLogLog();
+		HyperLogLog all = new HyperLogLog();
+		for (int i = 0; i < 50_000; i++) {
+			(i % 2 == 0 ? even : odd).offer(mix(i));
+			all.offer(mix(i));
+		}
+
+		even.merge(odd);
+		even.merge(odd);
+
+		assertArrayEquals(all.toBytes(), even.toBytes());
+	}
+
+	@Test
+	void roundTripsSparseAndDenseForms() {
+		HyperLogLog sketch = new HyperLogLog();
+		for (int i = 0; i < 20; i++) {
+			sketch.offer(mix(i));
+		}
+		byte[] sparse = sketch.toBytes();
+		assertTrue(sparse.length < 100);
+		assertArrayEquals(sparse, HyperLogLog.fromBytes(sparse).toBytes());
+
+		for (int i = 20; i < 100_000; i++) {
+			sketch.offer(mix(i));
+		}
+		byte[] dense = sketch.toBytes();
+		assertEquals(HyperLogLog.MAX_SERIALIZED_BYTES, dense.length);
+		assertArrayEquals(dense, HyperLogLog.fromBytes(dense).toBytes());
+		assertEquals(sketch.estimate(), HyperLogLog.fromBytes(dense).estimate());
+	}
+
+	@Test
+	void drainsOnlyAfterChange() {
+		HyperLogLog sketch = new HyperLogLog();
+		assertNull(sketch.drainIfDirty());
+
+		sketch.offer(mix(1));
+		assertTrue(sketch.drainIfDirty() != null);
+		assertNull(sketch.drainIfDirty());
+
+		sketch.offer(mix(1));
+		assertNull(sketch.drainIfDirty());
+	}
+
+	// SplitMix64 finalizer: well-spread stand-in for hashed viewer keys
+	private static long mix(long value) {
+		long z = value * 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
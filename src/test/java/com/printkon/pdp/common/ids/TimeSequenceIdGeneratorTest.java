@@ -0,0 +1,152 @@
+package com.printkon.pdp.common.ids;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Slf4j
+class TimeSequenceIdGeneratorTest {
+
+	private static final long NOW = Instant.parse("2026-10-16T10:00:00Z").toEpochMilli();
+	private static final int THREADS = 16;
+	// Numeric order of same-prefix ids, including order numbers that widened past 4 digits
+	private static final Comparator<String> ID_ORDER = Comparator.comparingInt(String::length)
+			.thenComparing(Comparator.naturalOrder());
+
+	private final AtomicLong clock = new AtomicLong(NOW);
+
+	@Test
+	void productIdsAreUniqueAcrossThreads() throws Exception {
+		TimeSequenceIdGenerator generator = generator(0, 1);
+		Set<String> ids = generateConcurrently(generator::nextProductId, 50_000, "product");
+
+		assertEquals(THREADS * 50_000, ids.size());
+		assertTrue(ids.stream().allMatch(id -> id.matches("P\\d{9}")));
+	}
+
+	@Test
+	void categoryIdsAreUniqueAcrossThreads() throws Exception {
+		TimeSequenceIdGenerator generator = generator(0, 1);
+		Set<String> ids = generateConcurrently(generator::nextCategoryId, 500, "category");
+
+		assertEquals(THREADS * 500, ids.size());
+		assertTrue(ids.stream().allMatch(id -> id.matches("CAT\\d{5}")));
+	}
+
+	@Test
+	void orderIdsAreUniqueAcrossThreadsAndWidenInsteadOfChangingDate() throws Exception {
+		TimeSequenceIdGenerator generator = generator(0, 1);
+		Set<String> ids = generateConcurrently(generator::nextOrderId, 2_000, "order");
+
+		assertEquals(THREADS * 2_000, ids.size());
+		assertTrue(ids.stream().allMatch(id -> id.matches("ORD-20261016-\\d{4,7}")), "ids keep today's date");
+		assertTrue(ids.contains("ORD-20261016-10000"), "slots beyond the day get a wider number");
+	}
+
+	@Test
+	void orderIdsFollowTheDateAfterWidening() {
+		TimeSequenceIdGenerator generator = generator(0, 1);
+		for (int i = 0; i < 10_000; i++) {
+			generator.nextOrderId();
+		}
+		clock.set(Instant.parse("2026-10-17T00:00:00Z").toEpochMilli());
+
+		assertEquals("ORD-20261017-0000", generator.nextOrderId());
+	}
+
+	@Test
+	void nodesSharingTheClockNeverCollide() {
+		TimeSequenceIdGenerator first = generator(0, 3);
+		TimeSequenceIdGenerator second = generator(1, 3);
+		TimeSequenceIdGenerator third = generator(2, 3);
+
+		Set<String> ids = new HashSet<>();
+		for (int i = 0; i < 10_000; i++) {
+			assertTrue(ids.add(first.nextProductId()));
+			assertTrue(ids.add(second.nextProductId()));
+			assertTrue(ids.add(third.nextProductId()));
+			assertTrue(ids.add(first.nextOrderId()));
+			assertTrue(ids.add(second.nextOrderId()));
+			assertTrue(ids.add(third.nextOrderId()));
+		}
+	}
+
+	@Test
+	void idsIncreaseAndFollowTheClock() {
+		TimeSequenceIdGenerator generator = generator(0, 1);
+
+		String first = generator.nextProductId();
+		String second = generator.nextProductId();
+		clock.addAndGet(3_600_000);
+		String later = generator.nextProductId();
+
+		assertTrue(first.compareTo(second) < 0);
+		assertEquals(Long.parseLong(first.substring(1)) + 60, Long.parseLong(later.substring(1)));
+		assertEquals("ORD-20261016-4583", generator.nextOrderId());
+	}
+
+	@Test
+	void rejectsNodeOutsideConfiguredRange() {
+		assertThrows(IllegalArgumentException.class, () -> generator(3, 3));
+		assertThrows(IllegalArgumentException.class, () -> generator(0, 11));
+	}
+
+	// ------------------ HELPERS ------------------
+
+	private TimeSequenceIdGenerator generator(int nodeId, int nodeCount) {
+		return new TimeSequenceIdGenerator(nodeId, nodeCount, clock::get, ZoneOffset.UTC);
+	}
+
+	private Set<String> generateConcurrently(Supplier<String> next, int perThread, String label) throws Exception {
+		Set<String> ids = ConcurrentHashMap.newKeySet(THREADS * perThread);
+		CountDownLatch startGate = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<List<String>>> futures = new ArrayList<>();
+			for (int t = 0; t < THREADS; t++) {
+				futures.add(executor.submit(() -> {
+					startGate.await();
+					List<String> generated = new ArrayList<>(perThread);
+					for (int i = 0; i < perThread; i++) {
+						generated.add(next.get());
+					}
+					return generated;
+				}));
+			}
+			long start = System.nanoTime();
+			startGate.countDown();
+			for (Future<List<String>> future : futures) {
+				List<String> generated = future.get();
+				for (int i = 1; i < generated.size(); i++) {
+					assertTrue(ID_ORDER.compare(generated.get(i - 1), generated.get(i)) < 0, "ids increase per thread");
+				}
+				ids.addAll(generated);
+			}
+			double seconds = (System.nanoTime() - start) / 1e9;
+			log.info("{} {} threads: {} ids in {} s -> {} ids/s", label, THREADS, THREADS * perThread,
+					String.format("%.3f", seconds), Math.round(THREADS * perThread / seconds));
+			return ids;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}